@@ -0,0 +1,54 @@
+package com.api.automation.benchmark;
+
+import com.api.automation.utils.ApiUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures DataTable validation - ApiUtil.verifyResponseBody runs getJsonPathValue and assertValue for every row.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssertionBenchmark {
+
+    private ApiUtil apiUtil;
+    private Map<String, String> table;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData.setUp();
+        apiUtil = new ApiUtil();
+        apiUtil.setResponse(BenchmarkData.getResponse(BenchmarkData.getInventoryJson(1024)));
+        table = BenchmarkData.getResponseTable();
+    }
+
+    @Benchmark
+    public void verifyResponseBodyTable() {
+        apiUtil.verifyResponseBody(table);
+    }
+
+    @Benchmark
+    public void verifyResponseBodyNumeric() {
+        apiUtil.verifyResponseBody("sold", "[>=]1");
+    }
+
+    @Benchmark
+    public void verifyResponseBodyEquals() {
+        apiUtil.verifyResponseBody("code", "200");
+    }
+}
@@ -0,0 +1,98 @@
+package com.api.automation.benchmark;
+
+import com.api.automation.utils.ApiUtil;
+import com.api.automation.utils.PropertiesUtil;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Test data used by benchmarks - DataTables like the feature files and inventory/user style JSON responses.
+ */
+public final class BenchmarkData {
+
+    private static final String USER_JSON = """
+            {"id":%d,"username":"user.%d","firstName":"First%d","lastName":"Last%d",\
+            "email":"user.%d@test.com","password":"Pa$$w0rd","phone":"555-01%04d","userStatus":%d}""";
+
+    private BenchmarkData() {}
+
+    /**
+     * Loads benchmark properties and creates runtime data for the benchmark thread.
+     */
+    public static void setUp() {
+        PropertiesUtil.loadProperties("benchmark.properties");
+        ApiUtil.createRunTimeData();
+        ApiUtil.setRunTimeData("userName", "user.1");
+        ApiUtil.setRunTimeData("status", "available");
+        ApiUtil.setRunTimeData("petId", "9223372036854775807");
+    }
+
+    /**
+     * Creates inventory style JSON response with a users array, of approximately the size provided.
+     *
+     * @param sizeBytes approximate size of the JSON
+     * @return JSON string
+     */
+    public static String getInventoryJson(int sizeBytes) {
+        StringBuilder json = new StringBuilder(sizeBytes + 256)
+                .append("{\"sold\":12,\"pending\":3,\"available\":450,\"code\":200,\"type\":\"unknown\",")
+                .append("\"message\":\"9223372036854775807\",\"users\":[");
+        int i = 0;
+        do {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(USER_JSON.formatted(i, i, i, i, i, i % 10000, i % 2));
+            i++;
+        } while (json.length() < sizeBytes);
+        return json.append("]}").toString();
+    }
+
+    public static Response getResponse(String json) {
+        return new ResponseBuilder()
+                .setStatusCode(200)
+                .setContentType(ContentType.JSON)
+                .setBody(json)
+                .build();
+    }
+
+    /**
+     * DataTable with the field/condition rows used in the feature files.
+     *
+     * @return field and expected value
+     */
+    public static Map<String, String> getResponseTable() {
+        Map<String, String> table = new LinkedHashMap<>();
+        table.put("sold", "[>=]1");
+        table.put("pending", "[>=]0");
+        table.put("available", "[>]100");
+        table.put("code", "200");
+        table.put("type", "[string]");
+        table.put("message", "[notnull]");
+        table.put("users[1].username", "[contains]user");
+        table.put("users[0].firstName", "First0");
+        table.put("users[1].userStatus", "[integer]");
+        table.put("users[0].email", "[notempty]");
+        table.put("users[0].id", "[>=]0&[<=]1000000");
+        return table;
+    }
+
+    /**
+     * Values with parameters as used in DataTables.
+     *
+     * @return parameterized values
+     */
+    public static String[] getParamValues() {
+        return new String[]{
+                "{userName}",
+                "v2/pet/{petId}",
+                "status={status}&user={userName}",
+                "no parameters in value",
+                "{randomint}"
+        };
+    }
+}
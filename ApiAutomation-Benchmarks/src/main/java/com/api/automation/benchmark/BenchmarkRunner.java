@@ -0,0 +1,32 @@
+package com.api.automation.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Runs the benchmarks with GC profiler, to publish ops/s and allocation rate (gc.alloc.rate.norm) in a JSON report.
+ * Accepts JMH command line options, ex: {@code java -jar target/benchmarks.jar JsonPath -p responseSize=1024}
+ */
+public class BenchmarkRunner {
+
+    private static final String RESULT_FILE = "reports/benchmarks/jmh-result.json";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new File(RESULT_FILE).getParentFile().mkdirs();
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULT_FILE)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,71 @@
+package com.api.automation.benchmark;
+
+import com.api.automation.utils.ApiUtil;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures ApiUtil.getJsonPathValue on JSON responses from 1 KB to 10 MB, with and without the response parsing cost,
+ * using JsonPath and streaming response mode.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class JsonPathBenchmark {
+
+    @Param({"1024", "102400", "1048576", "10485760"})
+    private int responseSize;
+
+    @Param({"false", "true"})
+    private String streamResponse;
+
+    private ApiUtil apiUtil;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData.setUp();
+        System.setProperty("streamResponse", streamResponse);
+        json = BenchmarkData.getInventoryJson(responseSize);
+        apiUtil = new ApiUtil();
+        apiUtil.setResponse(BenchmarkData.getResponse(json));
+    }
+
+    @Benchmark
+    public Object getJsonPathValue() {
+        return apiUtil.getJsonPathValue("sold");
+    }
+
+    @Benchmark
+    public Object getJsonPathValueFallback() {
+        return apiUtil.getJsonPathValue("users[0].nickName/firstName");
+    }
+
+    @Benchmark
+    public Object getJsonPathValueRandom() {
+        return apiUtil.getJsonPathValue("users.username", true);
+    }
+
+    @Benchmark
+    public Object parseAndGetJsonPathValue() {
+        Response response = BenchmarkData.getResponse(json);
+        ApiUtil util = new ApiUtil();
+        util.setResponse(response);
+        return util.getJsonPathValue("sold");
+    }
+}
@@ -0,0 +1,55 @@
+package com.api.automation.benchmark;
+
+import com.api.automation.utils.ApiUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures ApiUtil.getParamValue, which runs the parameter regex for every DataTable value.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParamSubstitutionBenchmark {
+
+    private ApiUtil apiUtil;
+    private String[] values;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData.setUp();
+        apiUtil = new ApiUtil();
+        values = BenchmarkData.getParamValues();
+    }
+
+    @Benchmark
+    public void getParamValue(Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(apiUtil.getParamValue(value));
+        }
+    }
+
+    @Benchmark
+    public String getParamValueWithoutParams() {
+        return apiUtil.getParamValue("no parameters in value");
+    }
+
+    @Benchmark
+    public String getJsonPathParamValue() {
+        return apiUtil.getParamValue("users.find { it.username == '${userName}' }.email", "\\$\\{(.*?)\\}");
+    }
+}
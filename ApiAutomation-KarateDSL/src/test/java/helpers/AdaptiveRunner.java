@@ -0,0 +1,172 @@
+package helpers;
+
+import com.intuit.karate.Results;
+import com.intuit.karate.Runner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Runs the features of a classpath folder in parallel, with the thread count and order of the features based on the
+ * feature durations of an earlier run. Features are started longest first, so long features do not start last and
+ * extend the run.
+ * <p>
+ * Durations are read from the "karate.history" summary report, karate-history/karate-summary-json.txt by default, which
+ * is outside target so it is kept by mvn clean. When it does not exist, the summary of the last run in
+ * target/karate-reports is used without shards, and shards use the default duration for all features. The summary of a run of all the features, or the merged summary of the shards, is
+ * saved as the history of the next run.
+ * <p>
+ * Features can be split across JVMs or CI agents with "karate.shards" (number of shards) and "karate.shard" (1 to
+ * shards). Features are assigned longest first to the shard with the lowest total duration, sorted by path for equal
+ * durations, so each shard gets the same features when all the shards use the same history report. Reports of the
+ * shards are merged with {@link KarateReports#merge}.
+ */
+public class AdaptiveRunner {
+
+    // duration of features not in the history report, when no history exists
+    private static final double DEFAULT_DURATION = 1000;
+
+    // summary of the last run, Karate writes the reports to target/karate-reports
+    private static final Path REPORT_SUMMARY = Path.of("target", "karate-reports", KarateReports.SUMMARY_FILE);
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveRunner.class);
+
+    /**
+     * Runs the features of the current shard of the classpath folder.
+     *
+     * @param directory classpath folder of the features, ex: petstore
+     * @return results, null when no feature is assigned to the shard
+     */
+    public static Results run(String directory) {
+        int shards = Integer.parseInt(System.getProperty("karate.shards", "1"));
+        int shard = Integer.parseInt(System.getProperty("karate.shard", "1"));
+        if (shard < 1 || shard > shards) {
+            throw new IllegalArgumentException("Invalid shard %s of %s shards".formatted(shard, shards));
+        }
+        Path historyFile = getHistoryFile();
+        // last run of a shard has other durations on each agent, shards use only the shared history for the same assignment
+        Map<String, Double> history = KarateReports.readDurations(Files.isRegularFile(historyFile) || shards > 1
+                ? historyFile : REPORT_SUMMARY);
+        List<String> features = findFeatures(directory);
+        Map<String, Double> durations = getDurations(features, history);
+        List<String> shardFeatures = assignShards(features, durations, shards).get(shard - 1);
+        if (shardFeatures.isEmpty()) {
+            log.info("No features assigned to shard {} of {}", shard, shards);
+            return null;
+        }
+        int threads = getThreadCount(shardFeatures, durations);
+        log.info("Running {} of {} features in shard {} of {} with {} threads, longest first: {}",
+                shardFeatures.size(), features.size(), shard, shards, threads, shardFeatures);
+        Results results = Runner.path(shardFeatures.stream().map(feature -> "classpath:" + feature).toList())
+                .outputCucumberJson(true)
+                .parallel(threads);
+        // summary of a shard has only the features of the shard, the merged summary of the shards is saved instead
+        if (shards == 1) {
+            KarateReports.saveHistory(Path.of(results.getReportDir(), KarateReports.SUMMARY_FILE), historyFile);
+        }
+        return results;
+    }
+
+    /**
+     * Gets the history report of the feature durations, "karate.history" or karate-history/karate-summary-json.txt.
+     *
+     * @return history summary file
+     */
+    public static Path getHistoryFile() {
+        return Path.of(System.getProperty("karate.history", "karate-history/" + KarateReports.SUMMARY_FILE));
+    }
+
+    /**
+     * Assigns features to the shards, longest first to the shard with the lowest total duration. Features of each shard
+     * are in longest first order.
+     *
+     * @param features  feature paths
+     * @param durations expected duration of each feature
+     * @param shards    number of shards
+     * @return features of each shard
+     */
+    public static List<List<String>> assignShards(Collection<String> features, Map<String, Double> durations, int shards) {
+        List<List<String>> assigned = IntStream.range(0, shards).<List<String>>mapToObj(shard -> new ArrayList<>()).toList();
+        double[] loads = new double[shards];
+        for (String feature : sortLongestFirst(features, durations)) {
+            int shard = IntStream.range(0, shards)
+                    .boxed()
+                    .min(Comparator.comparingDouble(index -> loads[index]))
+                    .orElse(0);
+            assigned.get(shard).add(feature);
+            loads[shard] += durations.get(feature);
+        }
+        return assigned;
+    }
+
+    /**
+     * Gets the thread count for the features - threads more than total / longest feature duration do not make the run
+     * faster, as the longest feature runs on one thread. Limited by the available cores and the feature count, or
+     * "karate.threads" when set.
+     *
+     * @param features  feature paths
+     * @param durations expected duration of each feature
+     * @return thread count
+     */
+    public static int getThreadCount(Collection<String> features, Map<String, Double> durations) {
+        String threads = System.getProperty("karate.threads");
+        if (threads != null) {
+            return Integer.parseInt(threads);
+        }
+        double total = features.stream().mapToDouble(durations::get).sum();
+        double longest = features.stream().mapToDouble(durations::get).max().orElse(DEFAULT_DURATION);
+        int useful = (int) Math.ceil(total / Math.max(longest, 1));
+        int cores = Runtime.getRuntime().availableProcessors();
+        return Math.max(1, Math.min(useful, Math.min(cores, features.size())));
+    }
+
+    // features not in history are expected to take the average duration of the features in history
+    private static Map<String, Double> getDurations(List<String> features, Map<String, Double> history) {
+        double average = history.values().stream().mapToDouble(Double::doubleValue).average().orElse(DEFAULT_DURATION);
+        return features.stream().collect(Collectors.toMap(feature -> feature,
+                feature -> history.getOrDefault(feature, average)));
+    }
+
+    private static List<String> sortLongestFirst(Collection<String> features, Map<String, Double> durations) {
+        return features.stream()
+                .sorted(Comparator.comparing((String feature) -> durations.get(feature)).reversed()
+                        .thenComparing(Comparator.naturalOrder()))
+                .toList();
+    }
+
+    // feature paths relative to the classpath, ex: petstore/features/Inventory.feature
+    private static List<String> findFeatures(String directory) {
+        URL url = Thread.currentThread().getContextClassLoader().getResource(directory);
+        if (url == null) {
+            throw new IllegalArgumentException("Classpath folder %s not found".formatted(directory));
+        }
+        Path root;
+        try {
+            root = Path.of(url.toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid classpath folder %s".formatted(directory), e);
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(file -> file.toString().endsWith(".feature"))
+                    .map(file -> directory + "/" + root.relativize(file).toString().replace('\\', '/'))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error in finding features in %s".formatted(directory), e);
+        }
+    }
+}
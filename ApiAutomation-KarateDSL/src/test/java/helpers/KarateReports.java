@@ -0,0 +1,151 @@
+package helpers;
+
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONObject;
+import net.minidev.json.JSONValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Reads feature durations of earlier runs from the Karate summary report, saves the summary as the history of the next
+ * run, and merges the reports of the shards of a run, ex: karate-reports folders of all CI agents, into one Cucumber
+ * JSON report and one summary.
+ */
+public class KarateReports {
+
+    public static final String SUMMARY_FILE = "karate-summary-json.txt";
+    public static final String CUCUMBER_FILE = "cucumber.json";
+
+    private static final Logger log = LoggerFactory.getLogger(KarateReports.class);
+
+    /**
+     * Gets the duration of each feature from a Karate summary report.
+     *
+     * @param summaryFile karate-summary-json.txt of an earlier run
+     * @return duration in milliseconds by feature path relative to the classpath, empty when no report exists
+     */
+    public static Map<String, Double> readDurations(Path summaryFile) {
+        Map<String, Double> durations = new HashMap<>();
+        if (!Files.isRegularFile(summaryFile)) {
+            log.info("No feature durations found in {}", summaryFile);
+            return durations;
+        }
+        for (Map<String, Object> feature : getFeatureSummary(readJson(summaryFile))) {
+            durations.put((String) feature.get("relativePath"), ((Number) feature.get("durationMillis")).doubleValue());
+        }
+        return durations;
+    }
+
+    /**
+     * Merges the Cucumber JSON reports and summaries of all the report folders under the shards folder. The merged
+     * summary has the durations of all the features, and can be used as the history of the next run.
+     *
+     * @param shardsDir folder with the karate-reports folders of the shards
+     * @param outputDir folder for the merged cucumber.json and karate-summary-json.txt
+     * @return merged summary
+     */
+    public static JSONObject merge(Path shardsDir, Path outputDir) {
+        JSONArray features = new JSONArray();
+        List<JSONObject> summaries = new ArrayList<>();
+        // output folder can be in the shards folder, merged reports are not read again
+        Path output = outputDir.toAbsolutePath().normalize();
+        try (Stream<Path> files = Files.walk(shardsDir.toAbsolutePath().normalize())) {
+            for (Path file : files.filter(Files::isRegularFile).filter(file -> !file.startsWith(output)).sorted().toList()) {
+                String name = file.getFileName().toString();
+                if (name.equals(SUMMARY_FILE)) {
+                    summaries.add((JSONObject) readJson(file));
+                } else if (name.endsWith(".json")) {
+                    features.addAll((JSONArray) readJson(file));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error in reading shard reports from %s".formatted(shardsDir), e);
+        }
+        JSONObject summary = mergeSummaries(summaries);
+        write(outputDir.resolve(CUCUMBER_FILE), features.toJSONString());
+        write(outputDir.resolve(SUMMARY_FILE), summary.toJSONString());
+        log.info("Merged {} shard reports to {}: features passed = {}; failed = {}; scenarios passed = {}; failed = {}",
+                summaries.size(), outputDir, summary.get("featuresPassed"), summary.get("featuresFailed"),
+                summary.get("scenariosPassed"), summary.get("scenariosfailed"));
+        return summary;
+    }
+
+    /**
+     * Copies a summary report to the history file, used for the feature durations of the next run.
+     *
+     * @param summaryFile karate-summary-json.txt of a run of all the features, or the merged summary of the shards
+     * @param historyFile history file, outside target so it is not removed by mvn clean
+     */
+    public static void saveHistory(Path summaryFile, Path historyFile) {
+        if (!Files.isRegularFile(summaryFile)) {
+            log.warn("No summary report {} to save as history", summaryFile);
+            return;
+        }
+        try {
+            Files.createDirectories(historyFile.toAbsolutePath().getParent());
+            Files.copy(summaryFile, historyFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error in saving history %s".formatted(historyFile), e);
+        }
+        log.info("Saved feature durations of {} to {}", summaryFile, historyFile);
+    }
+
+    // counts and total time are summed, elapsed time of the run is the slowest shard
+    private static JSONObject mergeSummaries(List<JSONObject> summaries) {
+        JSONObject merged = new JSONObject();
+        JSONArray featureSummary = new JSONArray();
+        for (String count : List.of("featuresPassed", "featuresFailed", "featuresSkipped", "scenariosPassed", "scenariosfailed", "threads")) {
+            merged.put(count, summaries.stream().mapToLong(summary -> getLong(summary, count)).sum());
+        }
+        merged.put("totalTime", summaries.stream().mapToDouble(summary -> getDouble(summary, "totalTime")).sum());
+        merged.put("elapsedTime", summaries.stream().mapToDouble(summary -> getDouble(summary, "elapsedTime")).max().orElse(0));
+        merged.put("shards", summaries.size());
+        summaries.forEach(summary -> featureSummary.addAll(getFeatureSummary(summary)));
+        featureSummary.sort(Comparator.comparing(feature -> String.valueOf(((Map<?, ?>) feature).get("relativePath"))));
+        merged.put("featureSummary", featureSummary);
+        return merged;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> getFeatureSummary(Object summary) {
+        Object features = summary instanceof Map ? ((Map<String, Object>) summary).get("featureSummary") : null;
+        return features instanceof List ? (List<Map<String, Object>>) features : List.of();
+    }
+
+    private static long getLong(JSONObject summary, String key) {
+        return summary.get(key) instanceof Number number ? number.longValue() : 0;
+    }
+
+    private static double getDouble(JSONObject summary, String key) {
+        return summary.get(key) instanceof Number number ? number.doubleValue() : 0;
+    }
+
+    private static Object readJson(Path file) {
+        try {
+            return JSONValue.parse(Files.readString(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error in reading report %s".formatted(file), e);
+        }
+    }
+
+    private static void write(Path file, String json) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.writeString(file, json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error in writing report %s".formatted(file), e);
+        }
+    }
+}
@@ -8,6 +8,10 @@ function fn() {
   var config = {
     apiUrl: 'https://petstore.swagger.io/'
   }
+  if (env == 'local') {
+    // stub server started by the test runner
+    config.apiUrl = 'http://localhost:' + karate.properties['mock.port'] + '/';
+  }
 
   let sessionId = karate.callSingle('classpath:helpers/Login.feature', config).sessionId
 //  karate.configure('headers', {Authorization: 'Token ' + accessToken})
@@ -0,0 +1,40 @@
+Feature: Petstore stub server
+
+  Background:
+    * def latency = Number(karate.properties['stub.latency'] || 0)
+    * def jitter = Number(karate.properties['stub.latency.jitter'] || 0)
+    * def errorRate = Number(karate.properties['stub.errorRate'] || 0)
+    * def errorStatus = Number(karate.properties['stub.errorStatus'] || 500)
+    * def delay = function(){ return latency + Math.floor(Math.random() * (jitter + 1)) }
+    * def isError = function(){ return errorRate > 0 && Math.random() < errorRate }
+    * def inventory = read('recorded/inventory.json')
+
+  Scenario: isError()
+    * def responseDelay = delay()
+    * def responseStatus = errorStatus
+    * def response = { code: '#(errorStatus)', type: 'error', message: 'injected error' }
+
+  Scenario: pathMatches('/v2/store/inventory') && methodIs('get')
+    * def responseDelay = delay()
+    * def response = inventory
+
+  Scenario: pathMatches('/v2/user/login') && methodIs('get')
+    * def responseDelay = delay()
+    * def sessionId = Math.floor(Math.random() * 1000000000000)
+    * def response = { code: 200, type: 'unknown', message: '#("logged in user session:" + sessionId)' }
+
+  Scenario: pathMatches('/v2/user') && methodIs('post')
+    * def responseDelay = delay()
+    * def response = { code: 200, type: 'unknown', message: '#(request.id + "")' }
+
+  Scenario: pathMatches('/v2/user/{username}') && methodIs('get')
+    * def responseDelay = delay()
+    * def response = { id: 1, username: '#(pathParams.username)', firstName: 'Stub', lastName: 'User', email: 'stub.user@text.com', password: 'password', phone: '555-0100', userStatus: 0 }
+
+  Scenario: pathMatches('/v2/user/{username}') && (methodIs('put') || methodIs('delete'))
+    * def responseDelay = delay()
+    * def response = { code: 200, type: 'unknown', message: '#(pathParams.username)' }
+
+  Scenario:
+    * def responseStatus = 404
+    * def response = { code: 404, type: 'unknown', message: 'No stub for request' }
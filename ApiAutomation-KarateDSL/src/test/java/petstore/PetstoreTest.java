@@ -1,17 +1,50 @@
 package petstore;
 
 import com.intuit.karate.Results;
-import com.intuit.karate.Runner;
+import com.intuit.karate.core.MockServer;
+import helpers.AdaptiveRunner;
+import helpers.KarateReports;
+import net.minidev.json.JSONObject;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.nio.file.Path;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class PetstoreTest {
     @Test
+    @DisabledIfSystemProperty(named = "karate.merge", matches = ".+")
     void testParallel() {
-        Results results = Runner.path("classpath:petstore")
-                .outputCucumberJson(true)
-                .parallel(5);
-        assertEquals(0, results.getFailCount(), results.getErrorMessages());
+        // karate.env=local runs the tests against in-process stub server, see karate-config.js
+        MockServer mockServer = "local".equals(System.getProperty("karate.env"))
+                ? MockServer.feature("classpath:mocks/PetstoreMock.feature").http(0).build()
+                : null;
+        try {
+            if (mockServer != null) {
+                System.setProperty("mock.port", String.valueOf(mockServer.getPort()));
+            }
+            // thread count, feature order and shard of the features are based on the durations of the earlier run
+            Results results = AdaptiveRunner.run("petstore");
+            if (results != null) {
+                assertEquals(0, results.getFailCount(), results.getErrorMessages());
+            }
+        } finally {
+            if (mockServer != null) {
+                mockServer.stop();
+            }
+        }
+    }
+
+    // merges the karate-reports of all the shards, ex: mvn test -Dkarate.merge=shard-reports
+    @Test
+    @EnabledIfSystemProperty(named = "karate.merge", matches = ".+")
+    void mergeShardReports() {
+        Path outputDir = Path.of(System.getProperty("karate.merge.output", "target/karate-merged"));
+        JSONObject summary = KarateReports.merge(Path.of(System.getProperty("karate.merge")), outputDir);
+        // merged summary has the durations of all the features, used by the shards of the next run
+        KarateReports.saveHistory(outputDir.resolve(KarateReports.SUMMARY_FILE), AdaptiveRunner.getHistoryFile());
+        assertEquals(0L, summary.get("scenariosfailed"), "Failed scenarios in shard reports");
     }
 }
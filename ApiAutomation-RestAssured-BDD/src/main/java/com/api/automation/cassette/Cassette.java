@@ -0,0 +1,194 @@
+package com.api.automation.cassette;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cassette file with recorded responses keyed by request key. Records are appended in a compact binary format:
+ * key, status, headers and body, each length prefixed.
+ * <p>
+ * For replay, the file is memory mapped and the index of key to record offset is built in one scan, response bodies
+ * are read from the mapped file only for the requests being replayed.
+ */
+@Slf4j
+public final class Cassette {
+
+    private static final int MAGIC = 0x43415353;
+
+    private final Path file;
+    private final Map<String, Integer> index = new HashMap<>();
+    private final Set<String> recordedKeys = new HashSet<>();
+    private MappedByteBuffer mapped;
+    private DataOutputStream output;
+
+    /**
+     * Recorded response.
+     */
+    public record Recording(int status, List<Map.Entry<String, String>> headers, byte[] body) {}
+
+    private Cassette(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Opens cassette for replay, the file is memory mapped and indexed.
+     *
+     * @param file cassette file
+     * @return cassette
+     */
+    public static Cassette openForReplay(Path file) {
+        Cassette cassette = new Cassette(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            cassette.mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error in opening cassette: %s".formatted(file), e);
+        }
+        cassette.buildIndex();
+        log.info("Loaded cassette %s with %s recordings".formatted(file, cassette.index.size()));
+        return cassette;
+    }
+
+    /**
+     * Opens cassette for recording, existing file is replaced.
+     *
+     * @param file cassette file
+     * @return cassette
+     */
+    public static Cassette openForRecord(Path file) {
+        Cassette cassette = new Cassette(file);
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            cassette.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+            cassette.output.writeInt(MAGIC);
+            cassette.output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error in creating cassette: %s".formatted(file), e);
+        }
+        return cassette;
+    }
+
+    /**
+     * Gets recorded response for the request key.
+     *
+     * @param key request key
+     * @return recorded response, null when not recorded
+     */
+    public Recording find(String key) {
+        Integer offset = index.get(key);
+        if (offset == null) {
+            return null;
+        }
+        // duplicate of the mapped buffer, so concurrent replays do not share the position
+        ByteBuffer buffer = mapped.duplicate().position(offset);
+        readString(buffer);
+        int status = buffer.getInt();
+        int headerCount = buffer.getInt();
+        List<Map.Entry<String, String>> headers = new ArrayList<>(headerCount);
+        for (int i = 0; i < headerCount; i++) {
+            headers.add(Map.entry(readString(buffer), readString(buffer)));
+        }
+        byte[] body = new byte[buffer.getInt()];
+        buffer.get(body);
+        return new Recording(status, headers, body);
+    }
+
+    /**
+     * Appends the response to the cassette, only the first response of a request key is recorded.
+     *
+     * @param key       request key
+     * @param recording response
+     */
+    public synchronized void record(String key, Recording recording) {
+        if (!recordedKeys.add(key)) {
+            return;
+        }
+        try {
+            writeString(key);
+            output.writeInt(recording.status());
+            output.writeInt(recording.headers().size());
+            for (Map.Entry<String, String> header : recording.headers()) {
+                writeString(header.getKey());
+                writeString(header.getValue());
+            }
+            output.writeInt(recording.body().length);
+            output.write(recording.body());
+            output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error in writing cassette: %s".formatted(file), e);
+        }
+    }
+
+    public synchronized void close() {
+        if (output != null) {
+            try {
+                output.close();
+                log.info("Recorded cassette %s with %s recordings".formatted(file, recordedKeys.size()));
+            } catch (IOException e) {
+                log.warn("Error in closing cassette %s. Error -> %s".formatted(file, e.getMessage()));
+            }
+            output = null;
+        }
+    }
+
+    public int size() {
+        return output != null ? recordedKeys.size() : index.size();
+    }
+
+    private void buildIndex() {
+        ByteBuffer buffer = mapped.duplicate();
+        if (buffer.remaining() < Integer.BYTES || buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Invalid cassette file: %s".formatted(file));
+        }
+        try {
+            while (buffer.hasRemaining()) {
+                int offset = buffer.position();
+                String key = readString(buffer);
+                buffer.position(buffer.position() + Integer.BYTES);
+                int headerCount = buffer.getInt();
+                for (int i = 0; i < headerCount * 2; i++) {
+                    skip(buffer);
+                }
+                skip(buffer);
+                index.putIfAbsent(key, offset);
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            // incomplete last record, when recording run was stopped while writing
+            log.warn("Ignoring incomplete record at the end of cassette %s".formatted(file));
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void skip(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        buffer.position(buffer.position() + length);
+    }
+}
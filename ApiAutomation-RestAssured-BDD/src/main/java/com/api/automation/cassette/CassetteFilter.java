@@ -0,0 +1,213 @@
+package com.api.automation.cassette;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static com.api.automation.utils.PropertiesUtil.getProperty;
+
+/**
+ * RestAssured filter to record responses to a cassette and replay them without sending the request, based on property
+ * "cassette.mode" (off/record/replay).
+ * <p>
+ * Requests are matched on method, URI, normalized headers and hash of the body. Headers in "cassette.ignoreHeaders" are
+ * not matched, and values of JSON body fields and query parameters in "cassette.ignoreFields" are not matched, so the
+ * requests with random data from DataGenerator are replayed.
+ */
+@Slf4j
+public final class CassetteFilter implements Filter {
+
+    private static final String IGNORED = "*";
+
+    private static volatile CassetteFilter instance;
+
+    private final boolean replay;
+    private final Cassette cassette;
+    private final Set<String> ignoreHeaders;
+    private final Set<String> ignoreFields;
+
+    private CassetteFilter(boolean replay, Path file) {
+        this.replay = replay;
+        this.cassette = replay ? Cassette.openForReplay(file) : Cassette.openForRecord(file);
+        this.ignoreHeaders = toSet(getProperty("cassette.ignoreHeaders"), true);
+        this.ignoreFields = toSet(getProperty("cassette.ignoreFields"), false);
+    }
+
+    public static boolean isEnabled() {
+        String mode = getProperty("cassette.mode");
+        return "record".equalsIgnoreCase(mode) || "replay".equalsIgnoreCase(mode);
+    }
+
+    /**
+     * Gets the cassette filter for the run, cassette is opened on first use.
+     *
+     * @return cassette filter
+     */
+    public static CassetteFilter getInstance() {
+        if (instance == null) {
+            synchronized (CassetteFilter.class) {
+                if (instance == null) {
+                    boolean replay = "replay".equalsIgnoreCase(getProperty("cassette.mode"));
+                    Path file = Paths.get(getProperty("cassette.dir"), getProperty("cassette.name") + ".cassette");
+                    if (replay && !Files.exists(file)) {
+                        throw new IllegalArgumentException("Cassette not exists for replay: %s".formatted(file.toAbsolutePath()));
+                    }
+                    instance = new CassetteFilter(replay, file);
+                    Runtime.getRuntime().addShutdownHook(new Thread(CassetteFilter::close));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Closes the cassette, recorded responses are written to the file.
+     */
+    public static synchronized void close() {
+        if (instance != null) {
+            instance.cassette.close();
+            instance = null;
+        }
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext context) {
+        String key = getKey(requestSpec);
+        if (replay) {
+            Cassette.Recording recording = cassette.find(key);
+            if (recording == null) {
+                throw new IllegalStateException("No recorded response in cassette for %s %s"
+                        .formatted(requestSpec.getMethod(), requestSpec.getURI()));
+            }
+            List<Header> headers = recording.headers().stream()
+                    .map(header -> new Header(header.getKey(), header.getValue()))
+                    .toList();
+            ResponseBuilder builder = new ResponseBuilder()
+                    .setStatusCode(recording.status())
+                    .setStatusLine("HTTP/1.1 %s".formatted(recording.status()))
+                    .setHeaders(new Headers(headers))
+                    .setBody(recording.body());
+            headers.stream().filter(header -> header.getName().equalsIgnoreCase("Content-Type")).findFirst()
+                    .ifPresent(header -> builder.setContentType(header.getValue()));
+            return builder.build();
+        }
+        Response response = context.next(requestSpec, responseSpec);
+        List<Map.Entry<String, String>> headers = new ArrayList<>();
+        response.getHeaders().forEach(header -> headers.add(Map.entry(header.getName(), header.getValue())));
+        cassette.record(key, new Cassette.Recording(response.getStatusCode(), headers, response.asByteArray()));
+        return response;
+    }
+
+    // key is hash of method, uri with normalized query, normalized headers and hash of normalized body
+    private String getKey(FilterableRequestSpecification requestSpec) {
+        StringBuilder key = new StringBuilder()
+                .append(requestSpec.getMethod().toUpperCase()).append('\n')
+                .append(normalizeUri(requestSpec.getURI())).append('\n');
+        Map<String, String> headers = new TreeMap<>();
+        requestSpec.getHeaders().forEach(header -> {
+            String name = header.getName().toLowerCase();
+            if (!ignoreHeaders.contains(name)) {
+                headers.merge(name, header.getValue().trim(), (first, second) -> first + "," + second);
+            }
+        });
+        headers.forEach((name, value) -> key.append(name).append(':').append(value).append('\n'));
+        key.append(sha256(normalizeBody(requestSpec.getBody())));
+        return sha256(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String normalizeUri(String uri) {
+        URI parsed = URI.create(uri);
+        String query = parsed.getRawQuery();
+        if (query == null) {
+            return uri;
+        }
+        String normalizedQuery = Arrays.stream(query.split("&"))
+                .map(param -> {
+                    String name = param.split("=", 2)[0];
+                    return ignoreFields.contains(name) ? name + "=" + IGNORED : param;
+                })
+                .sorted()
+                .collect(Collectors.joining("&"));
+        return uri.substring(0, uri.indexOf('?') + 1) + normalizedQuery;
+    }
+
+    private byte[] normalizeBody(Object body) {
+        if (body == null) {
+            return new byte[0];
+        }
+        if (body instanceof byte[] bytes) {
+            return bytes;
+        }
+        String text = body.toString();
+        if (!ignoreFields.isEmpty() && text.trim().startsWith("{")) {
+            try {
+                JsonElement json = JsonParser.parseString(text);
+                ignoreValues(json);
+                text = json.toString();
+            } catch (RuntimeException e) {
+                // not a JSON body, matched as is
+            }
+        }
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void ignoreValues(JsonElement json) {
+        if (json.isJsonObject()) {
+            JsonObject object = json.getAsJsonObject();
+            for (String field : new ArrayList<>(object.keySet())) {
+                if (ignoreFields.contains(field)) {
+                    object.addProperty(field, IGNORED);
+                } else {
+                    ignoreValues(object.get(field));
+                }
+            }
+        } else if (json.isJsonArray()) {
+            json.getAsJsonArray().forEach(this::ignoreValues);
+        }
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Set<String> toSet(String values, boolean lowerCase) {
+        if (values == null || values.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(values.split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .map(value -> lowerCase ? value.toLowerCase() : value)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
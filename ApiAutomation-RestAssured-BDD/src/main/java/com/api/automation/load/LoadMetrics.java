@@ -0,0 +1,61 @@
+package com.api.automation.load;
+
+import lombok.Getter;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects step latencies and errors of load test iterations. Latencies are recorded in microseconds in HdrHistogram.
+ */
+public final class LoadMetrics {
+
+    private static final Map<String, StepMetrics> STEPS = new ConcurrentHashMap<>();
+    private static final LongAdder ITERATIONS = new LongAdder();
+    private static final LongAdder FAILED_ITERATIONS = new LongAdder();
+
+    private LoadMetrics() {}
+
+    @Getter
+    public static final class StepMetrics {
+        private final Histogram latency = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+    }
+
+    public static void recordStep(String step, Duration duration, boolean failed) {
+        StepMetrics metrics = STEPS.computeIfAbsent(step, k -> new StepMetrics());
+        metrics.latency.recordValue(Math.max(0, duration.toNanos() / 1000));
+        if (failed) {
+            metrics.errors.increment();
+        }
+    }
+
+    public static void recordIteration(boolean failed) {
+        ITERATIONS.increment();
+        if (failed) {
+            FAILED_ITERATIONS.increment();
+        }
+    }
+
+    public static Map<String, StepMetrics> getSteps() {
+        return STEPS;
+    }
+
+    public static long getIterations() {
+        return ITERATIONS.sum();
+    }
+
+    public static long getFailedIterations() {
+        return FAILED_ITERATIONS.sum();
+    }
+
+    public static void reset() {
+        STEPS.clear();
+        ITERATIONS.reset();
+        FAILED_ITERATIONS.reset();
+    }
+}
@@ -0,0 +1,33 @@
+package com.api.automation.load;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+
+/**
+ * Cucumber plugin used by load runner, records duration and status of every step and scenario in {@link LoadMetrics}.
+ */
+public class LoadMetricsPlugin implements ConcurrentEventListener {
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepFinished.class, this::stepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::scenarioFinished);
+    }
+
+    private void stepFinished(TestStepFinished event) {
+        if (event.getTestStep() instanceof PickleStepTestStep step) {
+            Status status = event.getResult().getStatus();
+            if (status != Status.SKIPPED) {
+                LoadMetrics.recordStep(step.getStep().getText(), event.getResult().getDuration(), !status.isOk());
+            }
+        }
+    }
+
+    private void scenarioFinished(TestCaseFinished event) {
+        LoadMetrics.recordIteration(!event.getResult().getStatus().isOk());
+    }
+}
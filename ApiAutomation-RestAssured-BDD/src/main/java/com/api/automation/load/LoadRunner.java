@@ -0,0 +1,232 @@
+package com.api.automation.load;
+
+import com.api.automation.utils.HttpClientPool;
+import com.google.gson.GsonBuilder;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import io.cucumber.testng.TestNGCucumberRunner;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.api.automation.utils.PropertiesUtil.getProperty;
+
+/**
+ * Replays tagged Cucumber features with the existing step definitions using N virtual users, for a duration or number
+ * of iterations per user. Collects step latency percentiles, throughput and error rate, and writes a JSON report.
+ * <p>
+ * Cucumber runtime is created once for the run - glue is scanned, features are parsed and @BeforeAll hooks run once,
+ * and the users only run the scenarios, so the measured time is the time of the steps.
+ * <p>
+ * Config properties: load.tags, load.users, load.duration (seconds), load.iterations (per user, 0 for duration based),
+ * load.rampUp (seconds), load.logs (report/file logs during load), load.report (report file).
+ */
+@Slf4j
+public class LoadRunner {
+
+    private final String features;
+    private final List<String> glue;
+
+    /**
+     * Creates load runner for features and glue packages, same as used in the Cucumber test runner.
+     *
+     * @param features features path, ex: classpath:features
+     * @param glue     step definition and hook packages
+     */
+    public LoadRunner(String features, String... glue) {
+        this.features = features;
+        this.glue = List.of(glue);
+    }
+
+    /**
+     * Runs the load test and writes the report.
+     *
+     * @return load test report
+     */
+    public Map<String, Object> run() {
+        String tags = getProperty("load.tags");
+        int users = Integer.parseInt(getProperty("load.users"));
+        int iterations = Integer.parseInt(getProperty("load.iterations"));
+        long duration = TimeUnit.SECONDS.toMillis(Long.parseLong(getProperty("load.duration")));
+        long rampUp = TimeUnit.SECONDS.toMillis(Long.parseLong(getProperty("load.rampUp")));
+        if (!"true".equalsIgnoreCase(getProperty("load.logs"))) {
+            disableLogs();
+        }
+        TestNGCucumberRunner cucumberRunner = new TestNGCucumberRunner(LoadRunner.class, getCucumberProperties(tags)::get);
+        List<Pickle> pickles = Arrays.stream(cucumberRunner.provideScenarios())
+                .map(scenario -> ((PickleWrapper) scenario[0]).getPickle())
+                .toList();
+        log.info("Starting load test for tags %s with %s users, %s".formatted(tags, users,
+                iterations > 0 ? "%s iterations per user".formatted(iterations) : "%s ms duration".formatted(duration)));
+
+        LoadMetrics.reset();
+        long start = System.currentTimeMillis();
+        try {
+            runUsers(pickles.stream().<Runnable>map(pickle -> () -> cucumberRunner.runScenario(pickle)).toList(),
+                    users, iterations, duration, rampUp);
+        } finally {
+            cucumberRunner.finish();
+        }
+        Map<String, Object> report = createReport(tags, users, System.currentTimeMillis() - start);
+        writeReport(report);
+        return report;
+    }
+
+    /**
+     * Runs the scenarios with the virtual users, each user runs all the scenarios in each iteration until the
+     * iterations or the duration are completed. A failed scenario does not stop the user.
+     *
+     * @param scenarios  scenarios of an iteration
+     * @param users      number of virtual users
+     * @param iterations iterations per user, 0 for duration based
+     * @param duration   duration in milliseconds
+     * @param rampUp     ramp up time in milliseconds, users are started evenly over the ramp up time
+     */
+    static void runUsers(List<Runnable> scenarios, int users, int iterations, long duration, long rampUp) {
+        AtomicBoolean stopped = new AtomicBoolean();
+        long deadline = System.currentTimeMillis() + duration;
+        ExecutorService executor = newUserExecutor(users);
+        List<Future<?>> userRuns = new ArrayList<>();
+        for (int user = 0; user < users; user++) {
+            long startDelay = users > 1 ? rampUp * user / (users - 1) : 0;
+            userRuns.add(executor.submit(() -> runUser(scenarios, startDelay, iterations, deadline, stopped)));
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(duration + rampUp + TimeUnit.MINUTES.toMillis(5), TimeUnit.MILLISECONDS)) {
+                stopped.set(true);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            stopped.set(true);
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        // a user stopped by an error ends the load test with fewer users than configured
+        for (Future<?> userRun : userRuns) {
+            if (userRun.isDone() && !userRun.isCancelled()) {
+                try {
+                    userRun.get();
+                } catch (ExecutionException e) {
+                    log.warn("Virtual user stopped before the end of the load test. Error -> %s".formatted(e.getCause()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    // an iteration runs all the scenarios once, failed scenarios are recorded by the metrics plugin. Failed assertions
+    // of the steps are errors, so all the failures except fatal errors of the JVM are caught per scenario
+    private static void runUser(List<Runnable> scenarios, long startDelay, int iterations, long deadline,
+                                AtomicBoolean stopped) {
+        try {
+            Thread.sleep(startDelay);
+            for (int i = 0; !stopped.get() && (iterations > 0 ? i < iterations : System.currentTimeMillis() < deadline); i++) {
+                for (Runnable scenario : scenarios) {
+                    try {
+                        scenario.run();
+                    } catch (VirtualMachineError e) {
+                        throw e;
+                    } catch (Throwable e) {
+                        log.debug("Load test scenario failed -> %s".formatted(e.getMessage()));
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Map<String, String> getCucumberProperties(String tags) {
+        return Map.of(
+                "cucumber.features", features,
+                "cucumber.glue", String.join(",", glue),
+                "cucumber.filter.tags", tags,
+                "cucumber.plugin", LoadMetricsPlugin.class.getName(),
+                "cucumber.publish.quiet", "true");
+    }
+
+    // logs are written per step, disabled to measure api latency and not framework logging
+    private void disableLogs() {
+        System.setProperty("cucumber.publish.quiet", "true");
+        System.setProperty("consoleLogs", "false");
+        System.setProperty("cucumberLogs", "false");
+        System.setProperty("allureLogs", "false");
+        System.setProperty("logFile", "false");
+        System.setProperty("attachLogs", "false");
+    }
+
+    // uses virtual threads when available in the java runtime, otherwise a thread per user
+    private static ExecutorService newUserExecutor(int users) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(users);
+        }
+    }
+
+    private Map<String, Object> createReport(String tags, int users, long elapsedMillis) {
+        long iterations = LoadMetrics.getIterations();
+        Map<String, Object> steps = new LinkedHashMap<>();
+        LoadMetrics.getSteps().forEach((step, metrics) -> {
+            Histogram latency = metrics.getLatency();
+            long count = latency.getTotalCount();
+            long errors = metrics.getErrors().sum();
+            Map<String, Object> stepReport = new LinkedHashMap<>();
+            stepReport.put("count", count);
+            stepReport.put("errors", errors);
+            stepReport.put("errorRate", count == 0 ? 0 : (double) errors / count);
+            stepReport.put("throughputPerSec", count * 1000.0 / elapsedMillis);
+            stepReport.put("meanMs", latency.getMean() / 1000);
+            stepReport.put("p50Ms", latency.getValueAtPercentile(50) / 1000.0);
+            stepReport.put("p95Ms", latency.getValueAtPercentile(95) / 1000.0);
+            stepReport.put("p99Ms", latency.getValueAtPercentile(99) / 1000.0);
+            stepReport.put("maxMs", latency.getMaxValue() / 1000.0);
+            steps.put(step, stepReport);
+            log.info("%-60s count=%d errors=%d p50=%.1fms p95=%.1fms p99=%.1fms".formatted(step, count, errors,
+                    latency.getValueAtPercentile(50) / 1000.0, latency.getValueAtPercentile(95) / 1000.0,
+                    latency.getValueAtPercentile(99) / 1000.0));
+        });
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("tags", tags);
+        report.put("users", users);
+        report.put("durationMs", elapsedMillis);
+        report.put("iterations", iterations);
+        report.put("failedIterations", LoadMetrics.getFailedIterations());
+        report.put("errorRate", iterations == 0 ? 0 : (double) LoadMetrics.getFailedIterations() / iterations);
+        report.put("throughputPerSec", iterations * 1000.0 / elapsedMillis);
+        report.put("steps", steps);
+        report.put("httpPool", HttpClientPool.getStats());
+        log.info("Load test completed: iterations=%s failed=%s throughput=%.2f/s".formatted(iterations,
+                LoadMetrics.getFailedIterations(), iterations * 1000.0 / elapsedMillis));
+        return report;
+    }
+
+    private void writeReport(Map<String, Object> report) {
+        Path reportFile = Paths.get(getProperty("load.report"));
+        try {
+            Files.createDirectories(reportFile.toAbsolutePath().getParent());
+            Files.writeString(reportFile, new GsonBuilder().setPrettyPrinting().create().toJson(report));
+            log.info("Load test report: %s".formatted(reportFile.toAbsolutePath()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error in writing load test report", e);
+        }
+    }
+}
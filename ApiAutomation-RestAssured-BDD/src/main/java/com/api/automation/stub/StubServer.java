@@ -0,0 +1,265 @@
+package com.api.automation.stub;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.api.automation.utils.PropertiesUtil.getProperty;
+
+/**
+ * In-process HTTP stub server for the API endpoints, used when property "environment" is "local", so the tests run
+ * without network and the framework overhead can be measured without the latency of a remote service.
+ * <p>
+ * Responses are defined in the stub mapping file (property "stub.mappings") with a method, path (with {name} path
+ * parameters), status and a templated body or a recorded body file. Body templates support {{path.name}},
+ * {{query.name}}, {{body.field}}, {{random.number}} and {{random.uuid}}, used in JSON strings of the body. Request values
+ * are JSON escaped, so quotes and control characters in a request do not break the response JSON.
+ * <p>
+ * Config properties: stub.port (0 for a free port), stub.latency and stub.latency.jitter (milliseconds), stub.errorRate
+ * (0 to 1) and stub.errorStatus for error injection. Property "local.api.url" is set to the url of the started server.
+ */
+@Slf4j
+public final class StubServer {
+
+    private static final Pattern PATH_PARAM = Pattern.compile("\\{(\\w+)}");
+    private static final Pattern TEMPLATE = Pattern.compile("\\{\\{(\\w+)\\.(\\w+)}}");
+    private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create();
+
+    private static volatile StubServer instance;
+
+    private final HttpServer server;
+    private final List<Route> routes;
+    private final long latency;
+    private final long latencyJitter;
+    private final double errorRate;
+    private final int errorStatus;
+    private final AtomicLong requests = new AtomicLong();
+
+    private record Mapping(String method, String path, int status, JsonElement body, String bodyFile, Long latency) {}
+
+    private record Route(String method, Pattern path, List<String> pathParams, int status, String body, Long latency) {}
+
+    private StubServer(int port) throws IOException {
+        this.routes = loadRoutes(getProperty("stub.mappings"));
+        this.latency = Long.parseLong(getProperty("stub.latency"));
+        this.latencyJitter = Long.parseLong(getProperty("stub.latency.jitter"));
+        this.errorRate = Double.parseDouble(getProperty("stub.errorRate"));
+        this.errorStatus = Integer.parseInt(getProperty("stub.errorStatus"));
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stub-server");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.start();
+    }
+
+    public static boolean isLocal() {
+        return "local".equalsIgnoreCase(getProperty("environment"));
+    }
+
+    /**
+     * Starts the stub server once for the run when environment is local.
+     */
+    public static void startIfLocal() {
+        if (isLocal() && instance == null) {
+            synchronized (StubServer.class) {
+                if (instance == null) {
+                    int port = Integer.parseInt(getProperty("stub.port"));
+                    try {
+                        instance = new StubServer(port);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Error in starting stub server on port %s".formatted(port), e);
+                    }
+                    Runtime.getRuntime().addShutdownHook(new Thread(StubServer::stop));
+                    // tests of environment local use the url of the port the server is bound to, a free port for port 0
+                    String url = "http://localhost:%s/".formatted(instance.server.getAddress().getPort());
+                    System.setProperty("local.api.url", url);
+                    log.info("Started stub server on %s with %s routes".formatted(url, instance.routes.size()));
+                }
+            }
+        }
+    }
+
+    public static synchronized void stop() {
+        if (instance != null) {
+            instance.server.stop(0);
+            log.info("Stopped stub server, served %s requests".formatted(instance.requests.get()));
+            instance = null;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            byte[] requestBody = exchange.getRequestBody().readAllBytes();
+            for (Route route : routes) {
+                Matcher matcher = route.path().matcher(path);
+                if (route.method().equalsIgnoreCase(method) && matcher.matches()) {
+                    delay(route);
+                    if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                        send(exchange, errorStatus, "{\"code\":%s,\"type\":\"error\",\"message\":\"injected error\"}".formatted(errorStatus));
+                    } else {
+                        Map<String, String> pathParams = new HashMap<>();
+                        route.pathParams().forEach(name -> pathParams.put(name, matcher.group(name)));
+                        send(exchange, route.status(), render(route.body(), pathParams,
+                                exchange.getRequestURI().getRawQuery(), requestBody));
+                    }
+                    return;
+                }
+            }
+            send(exchange, 404, "{\"code\":404,\"type\":\"unknown\",\"message\":\"No stub for %s %s\"}".formatted(method, path));
+        }
+    }
+
+    private void delay(Route route) {
+        long delay = route.latency() != null ? route.latency() : latency;
+        if (latencyJitter > 0) {
+            delay += ThreadLocalRandom.current().nextLong(latencyJitter + 1);
+        }
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(bytes);
+            }
+        }
+    }
+
+    private static String render(String body, Map<String, String> pathParams, String query, byte[] requestBody) {
+        if (body.indexOf("{{") < 0) {
+            return body;
+        }
+        Map<String, String> queryParams = parseQuery(query);
+        JsonElement requestJson = null;
+        Matcher matcher = TEMPLATE.matcher(body);
+        StringBuilder rendered = new StringBuilder();
+        while (matcher.find()) {
+            String name = matcher.group(2);
+            String value = switch (matcher.group(1)) {
+                case "path" -> pathParams.get(name);
+                case "query" -> queryParams.get(name);
+                case "body" -> {
+                    if (requestJson == null) {
+                        requestJson = parseJson(requestBody);
+                    }
+                    JsonElement field = requestJson.isJsonObject() ? requestJson.getAsJsonObject().get(name) : null;
+                    yield field == null || field.isJsonNull() ? null
+                            : field.isJsonPrimitive() ? field.getAsString() : field.toString();
+                }
+                case "random" -> "uuid".equals(name)
+                        ? UUID.randomUUID().toString()
+                        : String.valueOf(ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE));
+                default -> null;
+            };
+            matcher.appendReplacement(rendered, Matcher.quoteReplacement(value == null ? "" : escapeJson(value)));
+        }
+        matcher.appendTail(rendered);
+        return rendered.toString();
+    }
+
+    // value is substituted in a JSON string, so it is escaped without the quotes
+    private static String escapeJson(String value) {
+        String json = GSON.toJson(value);
+        return json.substring(1, json.length() - 1);
+    }
+
+    private static JsonElement parseJson(byte[] body) {
+        try {
+            return JsonParser.parseString(new String(body, StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            return JsonParser.parseString("{}");
+        }
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new HashMap<>();
+        if (query != null) {
+            for (String param : query.split("&")) {
+                String[] pair = param.split("=", 2);
+                params.put(URLDecoder.decode(pair[0], StandardCharsets.UTF_8),
+                        pair.length > 1 ? URLDecoder.decode(pair[1], StandardCharsets.UTF_8) : "");
+            }
+        }
+        return params;
+    }
+
+    private static List<Route> loadRoutes(String mappingsFile) throws IOException {
+        List<Mapping> mappings;
+        try (InputStream data = StubServer.class.getClassLoader().getResourceAsStream(mappingsFile)) {
+            if (data == null) {
+                throw new IllegalArgumentException("Stub mappings file not exists: %s".formatted(mappingsFile));
+            }
+            mappings = GSON.fromJson(new InputStreamReader(data, StandardCharsets.UTF_8),
+                    new TypeToken<List<Mapping>>() {}.getType());
+        }
+        String baseDir = mappingsFile.contains("/") ? mappingsFile.substring(0, mappingsFile.lastIndexOf('/') + 1) : "";
+        List<Route> routes = new ArrayList<>();
+        for (Mapping mapping : mappings) {
+            List<String> pathParams = new ArrayList<>();
+            Matcher matcher = PATH_PARAM.matcher(mapping.path());
+            StringBuilder pathRegex = new StringBuilder();
+            int last = 0;
+            while (matcher.find()) {
+                pathRegex.append(Pattern.quote(mapping.path().substring(last, matcher.start())))
+                        .append("(?<%s>[^/]+)".formatted(matcher.group(1)));
+                pathParams.add(matcher.group(1));
+                last = matcher.end();
+            }
+            pathRegex.append(Pattern.quote(mapping.path().substring(last)));
+            String body = mapping.bodyFile() != null
+                    ? readResource(baseDir + mapping.bodyFile())
+                    : mapping.body() == null ? "" : mapping.body().toString();
+            routes.add(new Route(mapping.method(), Pattern.compile(pathRegex.toString()), pathParams,
+                    mapping.status(), body, mapping.latency()));
+        }
+        return routes;
+    }
+
+    private static String readResource(String file) throws IOException {
+        try (InputStream data = StubServer.class.getClassLoader().getResourceAsStream(file)) {
+            if (data == null) {
+                throw new IllegalArgumentException("Stub body file not exists: %s".formatted(file));
+            }
+            return new String(data.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
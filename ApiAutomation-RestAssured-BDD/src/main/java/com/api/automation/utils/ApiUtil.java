@@ -1,5 +1,6 @@
 package com.api.automation.utils;
 
+import com.api.automation.cassette.CassetteFilter;
 import com.google.gson.Gson;
 import io.restassured.RestAssured;
 import io.restassured.filter.log.ErrorLoggingFilter;
@@ -20,9 +21,12 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -39,21 +43,30 @@ public class ApiUtil {
     private static final String FORM = "form";
     private static final String QUERY = "query";
     private static final String PATH = "path";
-    private static final String CONDITION_REGEX = "\\[(.*?)\\]";
     private static final String PARAMETER_REGEX = "\\{(.*?)\\}";
     private static final String JSONPATH_REGEX = "\\$\\{(.*?)\\}";
     private static final ThreadLocal<Map<String, String>> RUN_TIME_DATA = new ThreadLocal<>();
+    private static final Map<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
+    private static final int MAX_REPORTED_FAILURES = 100;
 
     private final RequestSpecification request;
     private final QueryableRequestSpecification requestQuery;
+    private final Map<String, Object> streamedValues = new HashMap<>();
     private Response response;
     private JsonPath responseJsonPath;
+    private byte[] responseBody;
 
     public ApiUtil() {
         PrintStream logFile = LogUtil.getLogFile();
         request = isNull(logFile) ?
                 RestAssured.given().filters(new RequestLoggingFilter(), new ErrorLoggingFilter()) :
                 RestAssured.given().filters(RequestLoggingFilter.logRequestTo(logFile), ErrorLoggingFilter.logErrorsTo(logFile));
+        if (HttpClientPool.isEnabled()) {
+            request.config(HttpClientPool.getConfig());
+        }
+        if (CassetteFilter.isEnabled()) {
+            request.filter(CassetteFilter.getInstance());
+        }
         requestQuery = SpecificationQuerier.query(request);
     }
 
@@ -87,7 +100,7 @@ public class ApiUtil {
     }
 
     public boolean isUrlValid(String url) {
-        return new UrlValidator().isValid(url);
+        return new UrlValidator(UrlValidator.ALLOW_LOCAL_URLS).isValid(url);
     }
 
     /**
@@ -221,13 +234,60 @@ public class ApiUtil {
             case "PATCH" -> RestAssured.given(request).patch();
             default -> throw new IllegalArgumentException("Invalid method type" + method);
         };
+        readResponse();
         LogUtil.log("-------------- Response -----------------------");
-        LogUtil.log(response.asPrettyString());
+        LogUtil.log(getResponseLog());
         if (LogUtil.isConsoleLogEnabled()) {
-            response.then().log().all();
+            logResponseToConsole();
         }
         LogUtil.log("Response Time: " + response.getTime() + " ms");
-        responseJsonPath = response.jsonPath();
+    }
+
+    // in streaming mode, only raw body is kept and JSON paths are read using streaming parser, without JsonPath object tree
+    private void readResponse() {
+        streamedValues.clear();
+        responseJsonPath = null;
+        responseBody = isStreamResponseEnabled() ? response.asByteArray() : null;
+    }
+
+    private boolean isStreamResponseEnabled() {
+        return "true".equalsIgnoreCase(getProperty("streamResponse"));
+    }
+
+    // in async logs mode, body is logged as received and abbreviated, to keep log cost independent of response size
+    private String getResponseLog() {
+        if (nonNull(responseBody)) {
+            return "Response body: %s bytes".formatted(responseBody.length);
+        }
+        return LogUtil.isAsyncLogEnabled()
+                ? StringUtils.abbreviate(response.asString(), LogUtil.getMaxBodyLength())
+                : response.asPrettyString();
+    }
+
+    // in streaming mode, body is not printed, to not create the string of a large response body
+    private void logResponseToConsole() {
+        if (nonNull(responseBody)) {
+            response.then().log().status().log().headers();
+        } else {
+            response.then().log().all();
+        }
+    }
+
+    private JsonPath getResponseJsonPath() {
+        if (isNull(responseJsonPath)) {
+            responseJsonPath = response.jsonPath();
+        }
+        return responseJsonPath;
+    }
+
+    /**
+     * Sets the response to be validated, for responses received outside ApiUtil or recorded responses.
+     *
+     * @param response api response
+     */
+    public void setResponse(Response response) {
+        this.response = response;
+        readResponse();
     }
 
     /**
@@ -283,6 +343,7 @@ public class ApiUtil {
      *             {@link JsonPathException}
      */
     public void verifyResponseBody(Map<String, String> data) throws JsonPathException {
+        readJsonPaths(data.keySet());
         data.forEach((path, expected) -> {
             Object actual = getJsonPathValue(path);
             assertValue(actual, expected, "Response body assertion for jsonpath '%s':".formatted(path));
@@ -314,7 +375,8 @@ public class ApiUtil {
     }
 
     /**
-     * Extracts list of values from Response based on jsonPath provided, and validates fields value.
+     * Extracts list of values from Response based on jsonPath provided, and validates fields value of all the items.
+     * Failures of all the items are reported together.
      *
      * @param jsonPath JSONPath value
      * @param data     field and expected value
@@ -323,70 +385,34 @@ public class ApiUtil {
     public void verifyResponseAllItems(String jsonPath, Map<String, String> data) throws JsonPathException {
         Object value = getJsonPathValue(jsonPath);
         assertNotNull(value, "Check value of json path %s is not null.".formatted(jsonPath));
-        List<Object> items = value instanceof List ? (List<Object>) value : new ArrayList<>(List.of(value));
-        int i = 0;
-        for (Object item : items) {
-            LogUtil.log(String.format("Validating => %s[%s]", jsonPath, i++));
-            Map<String, Object> values = item instanceof Map ? (HashMap<String, Object>) item : new HashMap<>();
-            data.forEach((path, expected) -> {
-                Object actual = getValue(values, path);
-                assertValue(actual, expected, "Item: %s. Response body assertion for jsonpath '%s':".formatted(items.indexOf(item), path));
-            });
-        }
-    }
-
-    private Object getValue(Map<String, Object> data, String jsonPath) {
-        String[] paths = jsonPath.split("\\.");
-        Object value = null;
-        for (String path : paths) {
-            Object tempData = data.get(path);
-            if (tempData instanceof Map) {
-                data = (Map<String, Object>) tempData;
-            } else {
-                value = data.get(path);
-            }
+        List<?> items = value instanceof List ? (List<?>) value : List.of(value);
+        Map<String, String> expectedData = new LinkedHashMap<>();
+        data.forEach((path, expected) -> expectedData.put(path, isNull(expected) ? null : getParamValue(expected)));
+        LogUtil.log(String.format("Validating => %s items of %s for fields %s", items.size(), jsonPath, expectedData));
+        ItemValidator.Failures failures = new ItemValidator(expectedData, MAX_REPORTED_FAILURES).validate(items);
+        if (!failures.isEmpty()) {
+            String summary = "%s assertion(s) failed for %s items of %s:%n%s".formatted(failures.count(), items.size(), jsonPath,
+                    String.join(System.lineSeparator(), failures.messages()));
+            LogUtil.log(summary, "failed");
+            fail(summary);
         }
-        return value;
     }
 
     /**
-     * Asserts actual and expected values based on condition provide.
+     * Asserts actual and expected values based on condition provided. Expected value is compiled once to an
+     * {@link Expectation} and re-used for the same expected value.
      *
      * @param actual   value from response
      * @param expected value contains conditions
      */
     private void assertValue(Object actual, String expected, String message) {
         expected = isNull(expected) ? "[null]" : getParamValue(expected);
-        List<String> conditions = getRegexValue(expected, CONDITION_REGEX);
-        boolean isActualNull = isNull(actual);
-        String actualStr = isActualNull ? null : String.valueOf(actual);
-        String updatedMessage = "%s  Expected = %s; Actual = %s.".formatted(message, expected, actual);
-        expected = expected.replace("[contains]", "")
-                .replace("[~]", "")
-                .replace("[>=]", "")
-                .replace("[<=]", "")
-                .replace("[>]", "");
+        Expectation expectation = Expectation.compile(expected);
         LogUtil.log(message);
-        if (!conditions.isEmpty()) {
-            switch (conditions.get(0).toLowerCase()) {
-                case "null" -> assertTrue(isActualNull, updatedMessage);
-                case "notnull" -> assertFalse(isActualNull, updatedMessage);
-                case "empty" -> assertTrue(StringUtils.isEmpty(actualStr) && actualStr.equals("[]"), updatedMessage);
-                case "notempty" -> assertTrue(isNotEmpty(actualStr) && !actualStr.equals("[]"), updatedMessage);
-                case "contains", "~" -> assertTrue((isActualNull ? "null" : actual.toString()).contains(expected), updatedMessage);
-                case ">=" -> assertTrue((Integer) actual >= Integer.parseInt(expected), updatedMessage);
-                case "<=" -> assertTrue((Integer) actual <= Integer.parseInt(expected), updatedMessage);
-                case ">" -> assertTrue((Integer) actual > Integer.parseInt(expected), updatedMessage);
-                case "integer" -> assertTrue(actual instanceof Integer, "%s. Checking value is Integer type.".formatted(updatedMessage));
-                case "string" -> assertTrue(actual instanceof String, "%s. Checking value is String type.".formatted(updatedMessage));
-                case "boolean" -> assertTrue(actual instanceof Boolean, "%s. Checking value is Boolean type.".formatted(updatedMessage));
-                case "long" -> assertTrue(actual instanceof Long, "%s. Checking value is Long type.".formatted(updatedMessage));
-                case "float" -> assertTrue(actual instanceof Float, "%s. Checking value is Float type".formatted(updatedMessage));
-                case "array" -> assertTrue(actual instanceof List, "%s. Checking value is Array type.".formatted(updatedMessage));
-                default -> assertEquals(actualStr, expected, message);
-            }
-        } else {
-            assertEquals(actualStr, expected, message);
+        if (expectation.isEquality()) {
+            assertEquals(isNull(actual) ? null : String.valueOf(actual), expectation.getEqualsValue(), message);
+        } else if (!expectation.test(actual)) {
+            fail("%s  %s".formatted(message, expectation.describeFailure(actual)));
         }
     }
 
@@ -401,6 +427,9 @@ public class ApiUtil {
     }
 
     public String getParamValue(String value, String regEx) {
+        if (value.indexOf('{') < 0) {
+            return value;
+        }
         List<String> paramList = getRegexValue(value, regEx);
         String paramValue;
         for (String param : paramList) {
@@ -427,14 +456,11 @@ public class ApiUtil {
 
     public Object getJsonPathValue(String jsonPath, boolean random) {
         assertTrue(isNotEmpty(jsonPath), "Check Json path: %s is not empty".formatted(jsonPath));
-        jsonPath = getParamValue(jsonPath, JSONPATH_REGEX);
-        String[] jsonPaths = jsonPath.split("/");
-        String basePath = getBasePath(jsonPaths[0]);
         Object value = null;
-        for (int i = 0; i < jsonPaths.length; i++) {
-            jsonPath = i == 0 ? jsonPaths[i] : basePath + jsonPaths[i];
+        for (String path : getJsonPaths(jsonPath)) {
+            jsonPath = path;
             LogUtil.log(String.format("Getting value of JSON path: %s ", jsonPath));
-            value = responseJsonPath.get(jsonPath);
+            value = readJsonPath(jsonPath);
             if (random && value instanceof List) {
                 var values = ((List<?>) value).stream()
                         .filter(v -> nonNull(v) && !v.toString().isEmpty())
@@ -450,6 +476,49 @@ public class ApiUtil {
         return value;
     }
 
+    // json path with parameters replaced, and alternate paths separated by '/' ex: data.name/firstName
+    private List<String> getJsonPaths(String jsonPath) {
+        String[] jsonPaths = getParamValue(jsonPath, JSONPATH_REGEX).split("/");
+        String basePath = getBasePath(jsonPaths[0]);
+        List<String> paths = new ArrayList<>(jsonPaths.length);
+        for (int i = 0; i < jsonPaths.length; i++) {
+            paths.add(i == 0 ? jsonPaths[i] : basePath + jsonPaths[i]);
+        }
+        return paths;
+    }
+
+    private Object readJsonPath(String jsonPath) {
+        if (nonNull(responseBody) && StreamingJsonReader.isSupported(jsonPath)) {
+            readJsonPaths(List.of(jsonPath));
+            return streamedValues.get(jsonPath);
+        }
+        return getResponseJsonPath().get(jsonPath);
+    }
+
+    /**
+     * Reads values of all the json paths in one pass of the response body, when response streaming is enabled.
+     *
+     * @param jsonPaths JSONPath values
+     */
+    private void readJsonPaths(Collection<String> jsonPaths) {
+        if (isNull(responseBody)) {
+            return;
+        }
+        List<String> paths = jsonPaths.stream()
+                .flatMap(jsonPath -> getJsonPaths(jsonPath).stream())
+                .filter(jsonPath -> StreamingJsonReader.isSupported(jsonPath) && !streamedValues.containsKey(jsonPath))
+                .distinct()
+                .toList();
+        if (!paths.isEmpty()) {
+            Map<String, Object> values = StreamingJsonReader.read(responseBody, paths);
+            streamedValues.putAll(values);
+            // paths not resolved by the streaming reader are evaluated with JsonPath, same as without streaming
+            paths.stream()
+                    .filter(jsonPath -> !values.containsKey(jsonPath))
+                    .forEach(jsonPath -> streamedValues.put(jsonPath, getResponseJsonPath().get(jsonPath)));
+        }
+    }
+
     private String getBasePath(String jsonPath) {
         String[] paths = jsonPath.split("\\.");
         StringBuilder basePath = new StringBuilder();
@@ -518,7 +587,7 @@ public class ApiUtil {
      * @return List of values
      */
     private List<String> getRegexValue(final String value, final String regex) {
-        final Pattern pattern = Pattern.compile(regex);
+        final Pattern pattern = PATTERNS.computeIfAbsent(regex, Pattern::compile);
         final Matcher matcher = pattern.matcher(value);
         List<String> paramList = new ArrayList<>();
         while (matcher.find()) {
@@ -0,0 +1,250 @@
+package com.api.automation.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background log file writer. Test threads enqueue log records into a bounded buffer and a single writer thread
+ * drains them in batches to buffered file writers. When the buffer is full, records are dropped or the caller waits,
+ * based on property "asyncLogs.overflow" (drop/block).
+ */
+@Slf4j
+public final class AsyncLogWriter {
+
+    private static final int BATCH_SIZE = 512;
+    private static final long FLUSH_TIMEOUT_SECONDS = 30;
+    private static final long WAIT_STEP_MILLIS = 100;
+
+    private static volatile AsyncLogWriter instance;
+
+    private final BlockingQueue<LogRecord> buffer;
+    private final boolean dropOnOverflow;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Map<Path, Writer> writers = new HashMap<>();
+    private final Set<Path> openedFiles = new HashSet<>();
+    private final Thread writer;
+
+    private record LogRecord(Path file, String text, CountDownLatch flushed, boolean close) {}
+
+    private AsyncLogWriter(int bufferSize, boolean dropOnOverflow) {
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.dropOnOverflow = dropOnOverflow;
+        this.writer = new Thread(this::drain, "async-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flushAll));
+    }
+
+    public static AsyncLogWriter getInstance() {
+        if (instance == null) {
+            synchronized (AsyncLogWriter.class) {
+                if (instance == null) {
+                    int bufferSize = Integer.parseInt(PropertiesUtil.getProperty("asyncLogs.bufferSize"));
+                    boolean drop = "drop".equalsIgnoreCase(PropertiesUtil.getProperty("asyncLogs.overflow"));
+                    instance = new AsyncLogWriter(bufferSize, drop);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Creates an output stream which enqueues the written text to the log file on every flush.
+     *
+     * @param file log file
+     * @return output stream
+     */
+    public OutputStream openStream(Path file) {
+        return new QueueOutputStream(file);
+    }
+
+    /**
+     * Enqueues text to be appended to the log file.
+     *
+     * @param file log file
+     * @param text text to be written
+     */
+    public void write(Path file, String text) {
+        enqueue(new LogRecord(file, text, null, false));
+    }
+
+    /**
+     * Waits until all records enqueued before this call are written to the log file, and closes it when requested.
+     * Returns without waiting when the writer thread has stopped.
+     *
+     * @param file  log file
+     * @param close closes the file writer after flush
+     */
+    public void flush(Path file, boolean close) {
+        CountDownLatch flushed = new CountDownLatch(1);
+        try {
+            if (!put(new LogRecord(file, null, flushed, close)) || !await(flushed)) {
+                log.warn((writer.isAlive() ? "Timed out in flushing log file %s" : "Log writer stopped, log file %s not flushed")
+                        .formatted(file));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (dropped.get() > 0) {
+            log.warn("%s log record(s) dropped as log buffer was full or log writer stopped.".formatted(dropped.getAndSet(0)));
+        }
+    }
+
+    /**
+     * Waits until all enqueued records are written to the log files.
+     */
+    public void flushAll() {
+        flush(null, false);
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void enqueue(LogRecord logRecord) {
+        if (dropOnOverflow) {
+            if (!buffer.offer(logRecord)) {
+                dropped.incrementAndGet();
+            }
+        } else {
+            try {
+                if (!put(logRecord)) {
+                    dropped.incrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // waits for buffer space while the writer thread is alive, false when the writer has stopped
+    private boolean put(LogRecord logRecord) throws InterruptedException {
+        while (writer.isAlive()) {
+            if (buffer.offer(logRecord, WAIT_STEP_MILLIS, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // waits for the flush while the writer thread is alive, up to the flush timeout
+    private boolean await(CountDownLatch flushed) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(FLUSH_TIMEOUT_SECONDS);
+        while (!flushed.await(WAIT_STEP_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (!writer.isAlive() || System.nanoTime() - deadline > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void drain() {
+        List<LogRecord> batch = new ArrayList<>(BATCH_SIZE);
+        while (true) {
+            try {
+                batch.add(buffer.take());
+                buffer.drainTo(batch, BATCH_SIZE - 1);
+                Set<Path> written = new HashSet<>();
+                for (LogRecord logRecord : batch) {
+                    if (logRecord.flushed() == null) {
+                        getWriter(logRecord.file()).write(logRecord.text());
+                        written.add(logRecord.file());
+                    } else {
+                        flushWriters(logRecord);
+                        written.clear();
+                    }
+                }
+                for (Path file : written) {
+                    writers.get(file).flush();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Error in writing log file. Error -> %s".formatted(e.getMessage()));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flushWriters(LogRecord logRecord) throws IOException {
+        try {
+            for (Map.Entry<Path, Writer> writer : writers.entrySet()) {
+                if (logRecord.file() == null || writer.getKey().equals(logRecord.file())) {
+                    writer.getValue().flush();
+                }
+            }
+            if (logRecord.close() && writers.containsKey(logRecord.file())) {
+                writers.remove(logRecord.file()).close();
+            }
+        } finally {
+            logRecord.flushed().countDown();
+        }
+    }
+
+    // file is truncated when opened for the first time in the run, and appended when re-opened after close
+    private Writer getWriter(Path file) throws IOException {
+        Writer writer = writers.get(file);
+        if (writer == null) {
+            Files.createDirectories(file.getParent());
+            writer = openedFiles.add(file)
+                    ? Files.newBufferedWriter(file, StandardCharsets.UTF_8)
+                    : Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            writers.put(file, writer);
+        }
+        return writer;
+    }
+
+    private final class QueueOutputStream extends OutputStream {
+
+        private final Path file;
+        private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+
+        private QueueOutputStream(Path file) {
+            this.file = file;
+        }
+
+        @Override
+        public void write(int b) {
+            pending.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            pending.write(b, off, len);
+        }
+
+        @Override
+        public void flush() {
+            if (pending.size() > 0) {
+                AsyncLogWriter.this.write(file, pending.toString(StandardCharsets.UTF_8));
+                pending.reset();
+            }
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+    }
+}
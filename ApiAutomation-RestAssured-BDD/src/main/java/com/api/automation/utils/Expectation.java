@@ -0,0 +1,216 @@
+package com.api.automation.utils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Expected value from feature DataTables compiled to a predicate. Compiled expectations are cached by the expected value,
+ * so the condition syntax is parsed once instead of on every assertion.
+ * <p>
+ * Supported conditions: {@code [null] [notnull] [empty] [notempty] [contains]/[~]value [regex]pattern
+ * [>]n [>=]n [<]n [<=]n [==]n [!=]n [range]min..max [integer] [long] [float] [double] [number] [string] [boolean] [array]}.
+ * Conditions can be combined with {@code &} (and) and {@code |} (or), ex: {@code [>=]1&[<=]100}, {@code [null]|[string]}.
+ * Value without condition is compared for equality.
+ */
+public final class Expectation implements Predicate<Object> {
+
+    private static final int MAX_CACHE_SIZE = 10_000;
+    private static final Map<String, Expectation> CACHE = new ConcurrentHashMap<>();
+    private static final Pattern OR_SEPARATOR = Pattern.compile("\\|(?=\\[)");
+    private static final Pattern AND_SEPARATOR = Pattern.compile("&(?=\\[)");
+    private static final Pattern CONDITION = Pattern.compile("^\\[(.*?)](.*)$", Pattern.DOTALL);
+
+    private final String expected;
+    private final String equalsValue;
+    private final Predicate<Object> predicate;
+    // type names of the type conditions, for the failure description
+    private final List<String> types = new ArrayList<>();
+
+    private Expectation(String expected) {
+        this.expected = expected;
+        Predicate<Object> orPredicate = null;
+        for (String orClause : OR_SEPARATOR.split(expected, -1)) {
+            Predicate<Object> andPredicate = null;
+            for (String clause : AND_SEPARATOR.split(orClause, -1)) {
+                Predicate<Object> clausePredicate = parseClause(clause, types);
+                andPredicate = andPredicate == null ? clausePredicate : andPredicate.and(clausePredicate);
+            }
+            orPredicate = orPredicate == null ? andPredicate : orPredicate.or(andPredicate);
+        }
+        this.predicate = orPredicate;
+        this.equalsValue = orPredicate instanceof EqualTo equalTo ? equalTo.value() : null;
+    }
+
+    /**
+     * Gets the compiled expectation for the expected value.
+     *
+     * @param expected expected value with conditions
+     * @return compiled expectation
+     * @throws IllegalArgumentException when the condition value is invalid
+     */
+    public static Expectation compile(String expected) {
+        Expectation expectation = CACHE.get(expected);
+        if (expectation == null) {
+            expectation = new Expectation(expected);
+            if (CACHE.size() < MAX_CACHE_SIZE) {
+                CACHE.putIfAbsent(expected, expectation);
+            }
+        }
+        return expectation;
+    }
+
+    @Override
+    public boolean test(Object actual) {
+        return predicate.test(actual);
+    }
+
+    /**
+     * Checks expected value is compared for equality, i.e. has no conditions.
+     *
+     * @return true for equality
+     */
+    public boolean isEquality() {
+        return equalsValue != null;
+    }
+
+    public String getEqualsValue() {
+        return equalsValue;
+    }
+
+    /**
+     * Describes the failed expectation with the actual value and its type.
+     *
+     * @param actual value which does not meet the expectation
+     * @return failure description
+     */
+    public String describeFailure(Object actual) {
+        String description = "Expected = %s; Actual = %s (%s).".formatted(expected, actual,
+                actual == null ? "null" : actual.getClass().getSimpleName());
+        return types.isEmpty() ? description : "%s Checking value is %s type.".formatted(description, String.join(" or ", types));
+    }
+
+    @Override
+    public String toString() {
+        return expected;
+    }
+
+    private static Predicate<Object> parseClause(String clause, List<String> types) {
+        Matcher matcher = CONDITION.matcher(clause);
+        if (!matcher.matches()) {
+            return equalTo(clause);
+        }
+        String operand = matcher.group(2);
+        return switch (matcher.group(1).toLowerCase()) {
+            case "null" -> Objects::isNull;
+            case "notnull" -> Objects::nonNull;
+            case "empty" -> Expectation::isEmpty;
+            case "notempty" -> actual -> !isEmpty(actual);
+            case "contains", "~" -> actual -> String.valueOf(actual).contains(operand);
+            case "regex" -> {
+                Pattern pattern = Pattern.compile(operand);
+                yield actual -> actual != null && pattern.matcher(actual.toString()).find();
+            }
+            case ">" -> compare(operand, result -> result > 0);
+            case ">=" -> compare(operand, result -> result >= 0);
+            case "<" -> compare(operand, result -> result < 0);
+            case "<=" -> compare(operand, result -> result <= 0);
+            case "==" -> compare(operand, result -> result == 0);
+            case "!=" -> compare(operand, result -> result != 0);
+            case "range" -> range(operand);
+            case "integer" -> typeOf(Integer.class, "Integer", types);
+            case "long" -> typeOf(Long.class, "Long", types);
+            case "float" -> typeOf(Float.class, "Float", types);
+            case "double" -> typeOf(Double.class, "Double", types);
+            case "number" -> typeOf(Number.class, "Number", types);
+            case "string" -> typeOf(String.class, "String", types);
+            case "boolean" -> typeOf(Boolean.class, "Boolean", types);
+            case "array" -> typeOf(List.class, "Array", types);
+            default -> equalTo(clause);
+        };
+    }
+
+    private static Predicate<Object> typeOf(Class<?> type, String name, List<String> types) {
+        types.add(name);
+        return type::isInstance;
+    }
+
+    private static Predicate<Object> equalTo(String value) {
+        return new EqualTo(value);
+    }
+
+    private static boolean isEmpty(Object actual) {
+        String actualStr = actual == null ? null : String.valueOf(actual);
+        return actualStr == null || actualStr.isEmpty() || actualStr.equals("[]");
+    }
+
+    private static Predicate<Object> compare(String operand, IntPredicate condition) {
+        NumericValue expected = NumericValue.parse(operand);
+        return actual -> {
+            Integer result = expected.compareFrom(actual);
+            return result != null && condition.test(result);
+        };
+    }
+
+    private static Predicate<Object> range(String operand) {
+        String[] limits = operand.split("\\.\\.");
+        if (limits.length != 2) {
+            throw new IllegalArgumentException("Invalid range '%s', expected format [range]min..max".formatted(operand));
+        }
+        return compare(limits[0], result -> result >= 0).and(compare(limits[1], result -> result <= 0));
+    }
+
+    private record EqualTo(String value) implements Predicate<Object> {
+        @Override
+        public boolean test(Object actual) {
+            return Objects.equals(actual == null ? null : String.valueOf(actual), value);
+        }
+    }
+
+    /**
+     * Expected number parsed once, compared with actual value using long, double or BigDecimal based on the actual type.
+     */
+    private record NumericValue(BigDecimal decimal, boolean isLong, long longValue, double doubleValue) {
+
+        private static NumericValue parse(String value) {
+            try {
+                BigDecimal decimal = new BigDecimal(value.trim());
+                boolean isLong = decimal.stripTrailingZeros().scale() <= 0
+                        && decimal.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) <= 0
+                        && decimal.compareTo(BigDecimal.valueOf(Long.MIN_VALUE)) >= 0;
+                return new NumericValue(decimal, isLong, isLong ? decimal.longValue() : 0, decimal.doubleValue());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number '%s' in expected value".formatted(value), e);
+            }
+        }
+
+        // compares actual with expected number, returns null when actual is not a number
+        private Integer compareFrom(Object actual) {
+            if (actual instanceof Integer || actual instanceof Long || actual instanceof Short || actual instanceof Byte) {
+                long actualLong = ((Number) actual).longValue();
+                return isLong ? Long.compare(actualLong, longValue) : BigDecimal.valueOf(actualLong).compareTo(decimal);
+            } else if (actual instanceof Double actualDouble) {
+                return actualDouble.isNaN() ? null : Double.compare(actualDouble, doubleValue);
+            } else if (actual instanceof BigDecimal actualDecimal) {
+                return actualDecimal.compareTo(decimal);
+            } else if (actual instanceof BigInteger actualInteger) {
+                return new BigDecimal(actualInteger).compareTo(decimal);
+            } else if (actual instanceof Float || actual instanceof String) {
+                try {
+                    return new BigDecimal(actual.toString().trim()).compareTo(decimal);
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+            return null;
+        }
+    }
+}
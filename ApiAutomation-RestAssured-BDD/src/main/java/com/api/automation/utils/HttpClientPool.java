@@ -0,0 +1,183 @@
+package com.api.automation.utils;
+
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.http.pool.PoolStats;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.api.automation.utils.PropertiesUtil.getProperty;
+
+/**
+ * Process wide HTTP connection pool shared by all ApiUtil requests, so connections (and TLS sessions) are kept alive and
+ * reused across scenarios and threads, instead of a new connection per request. Each request has its own HTTP client
+ * on the shared pool, so cookies and client params are not shared.
+ * <p>
+ * Config properties: httpPool (true/false), httpPool.maxTotal, httpPool.maxPerRoute, httpPool.keepAlive and
+ * httpPool.idleTimeout (seconds), httpPool.connectTimeout and httpPool.readTimeout (milliseconds).
+ */
+@Slf4j
+public final class HttpClientPool {
+
+    private static final LongAdder REQUESTS = new LongAdder();
+    private static final LongAdder CONNECTIONS = new LongAdder();
+
+    private static volatile HttpClientPool instance;
+
+    private final PoolingClientConnectionManager connectionManager;
+    private final HttpClientConfig httpClientConfig;
+    private final ScheduledExecutorService evictor;
+
+    /**
+     * Pool statistics, connection reuse is the ratio of requests sent over an already open connection.
+     */
+    public record Stats(int leased, int available, int pending, int maxTotal, long requests, long connections) {
+        public double getReuseRate() {
+            return requests == 0 ? 0 : Math.max(0, (double) (requests - connections) / requests);
+        }
+
+        @Override
+        public String toString() {
+            return "requests=%s connections=%s reuse=%.1f%% leased=%s available=%s pending=%s max=%s"
+                    .formatted(requests, connections, getReuseRate() * 100, leased, available, pending, maxTotal);
+        }
+    }
+
+    private HttpClientPool() {
+        long keepAlive = TimeUnit.SECONDS.toMillis(Long.parseLong(getProperty("httpPool.keepAlive")));
+        long idleTimeout = Long.parseLong(getProperty("httpPool.idleTimeout"));
+        int connectTimeout = Integer.parseInt(getProperty("httpPool.connectTimeout"));
+        int readTimeout = Integer.parseInt(getProperty("httpPool.readTimeout"));
+
+        connectionManager = new CountingConnectionManager(SchemeRegistryFactory.createDefault());
+        connectionManager.setMaxTotal(Integer.parseInt(getProperty("httpPool.maxTotal")));
+        connectionManager.setDefaultMaxPerRoute(Integer.parseInt(getProperty("httpPool.maxPerRoute")));
+
+        // new client per request, only the connection pool is shared - cookie store and params of the client are
+        // changed by RestAssured on each request, and are not shared between parallel scenarios
+        httpClientConfig = HttpClientConfig.httpClientConfig()
+                .httpClientFactory(() -> createHttpClient(keepAlive))
+                .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, connectTimeout)
+                .setParam(CoreConnectionPNames.SO_TIMEOUT, readTimeout);
+
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleTimeout, TimeUnit.SECONDS);
+        }, idleTimeout, Math.max(1, idleTimeout / 2), TimeUnit.SECONDS);
+    }
+
+    private DefaultHttpClient createHttpClient(long keepAlive) {
+        DefaultHttpClient httpClient = new DefaultHttpClient(connectionManager);
+        // uses Keep-Alive timeout from response header when present, otherwise configured keep alive
+        httpClient.setKeepAliveStrategy((response, context) -> {
+            long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return duration > 0 ? Math.min(duration, keepAlive) : keepAlive;
+        });
+        httpClient.addRequestInterceptor((request, context) -> REQUESTS.increment());
+        return httpClient;
+    }
+
+    public static boolean isEnabled() {
+        return "true".equalsIgnoreCase(getProperty("httpPool"));
+    }
+
+    private static HttpClientPool getInstance() {
+        if (instance == null) {
+            synchronized (HttpClientPool.class) {
+                if (instance == null) {
+                    instance = new HttpClientPool();
+                    log.info("Created HTTP connection pool: maxTotal=%s maxPerRoute=%s".formatted(
+                            instance.connectionManager.getMaxTotal(), instance.connectionManager.getDefaultMaxPerRoute()));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the current global RestAssured config, with HTTP clients using the shared connection pool.
+     *
+     * @return RestAssured config
+     */
+    public static RestAssuredConfig getConfig() {
+        return RestAssured.config().httpClient(getInstance().httpClientConfig);
+    }
+
+    /**
+     * Gets connection pool statistics.
+     *
+     * @return pool statistics, empty statistics when pool is not created
+     */
+    public static Stats getStats() {
+        HttpClientPool pool = instance;
+        if (pool == null) {
+            return new Stats(0, 0, 0, 0, REQUESTS.sum(), CONNECTIONS.sum());
+        }
+        PoolStats poolStats = pool.connectionManager.getTotalStats();
+        return new Stats(poolStats.getLeased(), poolStats.getAvailable(), poolStats.getPending(), poolStats.getMax(),
+                REQUESTS.sum(), CONNECTIONS.sum());
+    }
+
+    public static void logStats() {
+        if (instance != null) {
+            log.info("HTTP connection pool: %s".formatted(getStats()));
+        }
+    }
+
+    /**
+     * Closes all pooled connections, pool is created again on next request.
+     */
+    public static synchronized void shutdown() {
+        HttpClientPool pool = instance;
+        if (pool != null) {
+            instance = null;
+            pool.evictor.shutdownNow();
+            pool.connectionManager.shutdown();
+        }
+    }
+
+    // counts new connections opened by the pool, to compute connection reuse
+    private static final class CountingConnectionManager extends PoolingClientConnectionManager {
+
+        private CountingConnectionManager(SchemeRegistry schemeRegistry) {
+            super(schemeRegistry);
+        }
+
+        @Override
+        protected ClientConnectionOperator createConnectionOperator(SchemeRegistry schemeRegistry) {
+            return new CountingConnectionOperator(schemeRegistry);
+        }
+    }
+
+    private static final class CountingConnectionOperator extends DefaultClientConnectionOperator {
+
+        private CountingConnectionOperator(SchemeRegistry schemeRegistry) {
+            super(schemeRegistry);
+        }
+
+        @Override
+        public OperatedClientConnection createConnection() {
+            CONNECTIONS.increment();
+            return super.createConnection();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.api.automation.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Validates fields of all the items of a JSON array against DataTable expectations. Field paths are split and expected
+ * values are compiled once, and large arrays are validated in fork/join chunks. All failing items are counted, instead
+ * of stopping at the first failure, and messages are formatted only for the first failures which are reported.
+ * <p>
+ * Validation runs on pool threads, so it does not log or use thread local runtime data - parameters in expected values
+ * needs to be replaced before creating the validator.
+ */
+public final class ItemValidator {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final List<Check> checks;
+    private final int maxMessages;
+
+    private record Check(String jsonPath, String[] fields, Expectation expectation) {}
+
+    // failed check of an item, formatted to a message only when reported
+    private record Failure(int item, Check check, Object actual) {}
+
+    // failure count and the first failures of a chunk, in item order
+    private record ChunkFailures(int count, List<Failure> first) {}
+
+    /**
+     * Result of the validation.
+     *
+     * @param count    number of failed fields of all the items
+     * @param messages failure messages of the first failed fields, in item order
+     */
+    public record Failures(int count, List<String> messages) {
+
+        public boolean isEmpty() {
+            return count == 0;
+        }
+    }
+
+    /**
+     * Creates validator for the fields and expected values.
+     *
+     * @param data        field path and expected value, with parameters replaced
+     * @param maxMessages max number of failure messages returned
+     */
+    public ItemValidator(Map<String, String> data, int maxMessages) {
+        this.maxMessages = maxMessages;
+        checks = new ArrayList<>(data.size());
+        data.forEach((path, expected) ->
+                checks.add(new Check(path, path.split("\\."), Expectation.compile(expected == null ? "[null]" : expected))));
+    }
+
+    /**
+     * Validates all the items.
+     *
+     * @param items items from response
+     * @return failure count, and failure messages of the first failed fields in item order
+     */
+    public Failures validate(List<?> items) {
+        items = items instanceof RandomAccess ? items : new ArrayList<>(items);
+        ChunkFailures failures = items.size() <= CHUNK_SIZE
+                ? validate(items, 0, items.size())
+                : ForkJoinPool.commonPool().invoke(new ValidateTask(items, 0, items.size()));
+        List<String> messages = failures.first().stream()
+                .map(failure -> "Item: %s. Response body assertion for jsonpath '%s':  %s".formatted(failure.item(),
+                        failure.check().jsonPath(), failure.check().expectation().describeFailure(failure.actual())))
+                .toList();
+        return new Failures(failures.count(), messages);
+    }
+
+    private ChunkFailures validate(List<?> items, int from, int to) {
+        int count = 0;
+        List<Failure> first = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            Object item = items.get(i);
+            Map<?, ?> values = item instanceof Map<?, ?> map ? map : Map.of();
+            for (Check check : checks) {
+                Object actual = getValue(values, check.fields());
+                if (!check.expectation().test(actual)) {
+                    count++;
+                    if (first.size() < maxMessages) {
+                        first.add(new Failure(i, check, actual));
+                    }
+                }
+            }
+        }
+        return new ChunkFailures(count, first);
+    }
+
+    // left chunk failures are before the right chunk failures in item order
+    private ChunkFailures merge(ChunkFailures left, ChunkFailures right) {
+        List<Failure> first = new ArrayList<>(left.first());
+        right.first().stream().limit(Math.max(0, maxMessages - first.size())).forEach(first::add);
+        return new ChunkFailures(left.count() + right.count(), first);
+    }
+
+    private static Object getValue(Map<?, ?> data, String[] fields) {
+        Object value = data;
+        for (String field : fields) {
+            if (!(value instanceof Map<?, ?> map)) {
+                return null;
+            }
+            value = map.get(field);
+        }
+        return value;
+    }
+
+    private final class ValidateTask extends RecursiveTask<ChunkFailures> {
+
+        private final List<?> items;
+        private final int from;
+        private final int to;
+
+        private ValidateTask(List<?> items, int from, int to) {
+            this.items = items;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected ChunkFailures compute() {
+            if (to - from <= CHUNK_SIZE) {
+                return validate(items, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            ValidateTask left = new ValidateTask(items, from, middle);
+            left.fork();
+            ChunkFailures right = new ValidateTask(items, middle, to).compute();
+            return merge(left.join(), right);
+        }
+    }
+}
@@ -10,6 +10,7 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -21,6 +22,12 @@ public final class LogUtil {
     private static final ThreadLocal<String> LOG_PATH = new ThreadLocal<>();
     private static final ThreadLocal<Scenario> SCENARIO = new ThreadLocal<>();
     private static final ThreadLocal<PrintStream> LOG_FILE = new ThreadLocal<>();
+    private static final int DEFAULT_MAX_BODY_LENGTH = 2000;
+    private static volatile LogConfig config;
+    private static volatile Integer maxBodyLength;
+
+    private record LogConfig(boolean consoleLogs, boolean cucumberLogs, boolean allureLogs, boolean logFile,
+                             boolean attachLogs, boolean asyncLogs) {}
 
     private LogUtil() {}
 
@@ -104,7 +111,9 @@ public final class LogUtil {
                 String logPath = getLogPath();
                 if (Files.exists(Paths.get(logPath)) || new File(logPath).mkdirs()) {
                     String fileName = getLogFileName();
-                    logFile = new PrintStream(new FileOutputStream(logPath + fileName));
+                    logFile = isAsyncLogEnabled()
+                            ? new PrintStream(AsyncLogWriter.getInstance().openStream(Paths.get(logPath + fileName)), true, StandardCharsets.UTF_8)
+                            : new PrintStream(new FileOutputStream(logPath + fileName));
                     setLogFile(logFile);
                     return logFile;
                 }
@@ -121,6 +130,7 @@ public final class LogUtil {
     public static void attachLogs() {
         if (Objects.nonNull(getScenario()) && (isAttachLogsEnabled() || getScenario().isFailed())) {
             String logName = "Execution Logs";
+            flushLogs();
             try {
                 Path logPath = Paths.get(getLogPath() + getLogFileName());
                 getScenario().attach(Files.readAllBytes(logPath), "text/plain", logName);
@@ -130,6 +140,32 @@ public final class LogUtil {
         }
     }
 
+    /**
+     * Waits until the current thread's log records are written to the log file, when async logs are enabled.
+     */
+    public static void flushLogs() {
+        flushLogs(false);
+    }
+
+    private static void flushLogs(boolean close) {
+        PrintStream logFile = LOG_FILE.get();
+        if (Objects.nonNull(logFile)) {
+            logFile.flush();
+            if (isAsyncLogEnabled()) {
+                AsyncLogWriter.getInstance().flush(Paths.get(getLogFilePath()), close);
+            }
+        }
+    }
+
+    /**
+     * Waits until log records of all threads are written to the log files, when async logs are enabled.
+     */
+    public static void flushAllLogs() {
+        if (isAsyncLogEnabled()) {
+            AsyncLogWriter.getInstance().flushAll();
+        }
+    }
+
     public static Scenario getScenario() {
         return SCENARIO.get();
     }
@@ -147,23 +183,67 @@ public final class LogUtil {
     }
 
     public static boolean isConsoleLogEnabled() {
-        return PropertiesUtil.getProperty("consoleLogs").equalsIgnoreCase("true");
+        return getConfig().consoleLogs();
     }
 
     private static boolean isCucumberLogEnabled() {
-        return PropertiesUtil.getProperty("cucumberLogs").equalsIgnoreCase("true");
+        return getConfig().cucumberLogs();
     }
 
     private static boolean isAllureLogEnabled() {
-        return PropertiesUtil.getProperty("allureLogs").equalsIgnoreCase("true");
+        return getConfig().allureLogs();
     }
 
     private static boolean isLogFileEnabled() {
-        return PropertiesUtil.getProperty("logFile").equalsIgnoreCase("true");
+        return getConfig().logFile();
     }
 
     private static boolean isAttachLogsEnabled() {
-        return PropertiesUtil.getProperty("attachLogs").equalsIgnoreCase("true");
+        return getConfig().attachLogs();
+    }
+
+    public static boolean isAsyncLogEnabled() {
+        return getConfig().asyncLogs();
+    }
+
+    /**
+     * Max length of response body added to logs in async logs mode, longer body is abbreviated. Read on first use
+     * from "asyncLogs.maxBodyLength", 2000 when not set.
+     *
+     * @return max body length
+     */
+    public static int getMaxBodyLength() {
+        Integer length = maxBodyLength;
+        if (Objects.isNull(length)) {
+            String value = PropertiesUtil.getProperty("asyncLogs.maxBodyLength");
+            length = StringUtils.isBlank(value) ? DEFAULT_MAX_BODY_LENGTH : Integer.parseInt(value.trim());
+            maxBodyLength = length;
+        }
+        return length;
+    }
+
+    // log flags are read once from properties, instead of for every log message
+    private static LogConfig getConfig() {
+        LogConfig logConfig = config;
+        if (Objects.isNull(logConfig)) {
+            logConfig = new LogConfig(isPropertyEnabled("consoleLogs"), isPropertyEnabled("cucumberLogs"),
+                    isPropertyEnabled("allureLogs"), isPropertyEnabled("logFile"), isPropertyEnabled("attachLogs"),
+                    isPropertyEnabled("asyncLogs"));
+            config = logConfig;
+        }
+        return logConfig;
+    }
+
+    private static boolean isPropertyEnabled(String propertyName) {
+        return "true".equalsIgnoreCase(PropertiesUtil.getProperty(propertyName));
+    }
+
+    /**
+     * Clears the log flags read from properties, flags are read again on next log.
+     */
+    public static void resetConfig() {
+        config = null;
+        maxBodyLength = null;
     }
 
     private static void setLogPath() {
@@ -177,8 +257,9 @@ public final class LogUtil {
         return LOG_PATH.get();
     }
 
+    // scenario line is added to the name, so scenarios with the same name, ex: examples of an outline, use own files
     private static String getLogFileName() {
-        return Objects.isNull(getScenario()) ? "logs.txt" : getScenario().getName() + ".txt";
+        return Objects.isNull(getScenario()) ? "logs.txt" : "%s_%s.txt".formatted(getScenario().getName(), getScenario().getLine());
     }
 
     public static String getLogFilePath() {
@@ -186,6 +267,7 @@ public final class LogUtil {
     }
 
     public static void clearLogData() {
+        flushLogs(true);
         LOG_FILE.remove();
         SCENARIO.remove();
         LOG_PATH.remove();
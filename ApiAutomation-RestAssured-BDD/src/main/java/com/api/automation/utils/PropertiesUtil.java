@@ -18,6 +18,7 @@ public class PropertiesUtil {
 
     public static void loadProperties(String propertiesFile) {
         new PropertiesUtil().setProperties(propertiesFile);
+        LogUtil.resetConfig();
     }
 
     public static String getProperty(String propertyName) {
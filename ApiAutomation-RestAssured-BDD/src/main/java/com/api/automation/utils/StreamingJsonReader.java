@@ -0,0 +1,292 @@
+package com.api.automation.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts values of JSON paths from a JSON body in a single pass using Jackson streaming parser. Only the values of
+ * requested paths are created, other parts of the body are skipped without building an object tree.
+ * <p>
+ * Supports simple GPath expressions: field names separated by dots with optional array index, ex: {@code sold},
+ * {@code users[0].username}, {@code users.username} (collects field from all array items). Numbers are returned as
+ * Integer/Long/BigInteger and Float/Double, same as RestAssured JsonPath.
+ * <p>
+ * Paths are streamed through objects and array indexes. When a field is read from an array, the array is created with
+ * only the fields of the rest of the path in each item, and the rest of the path is resolved with GPath rules: null
+ * items are skipped, items without the field give null, and an index after the field is the index in the collected list. Paths which can not be resolved the same as JsonPath, ex: a
+ * field of a string value, are not in the result and need to be evaluated with JsonPath.
+ */
+public final class StreamingJsonReader {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final Pattern SIMPLE_PATH = Pattern.compile("^[\\w\\-@$]+(\\[\\d+])*(\\.[\\w\\-@$]+(\\[\\d+])*)*$");
+    private static final Pattern INDEX = Pattern.compile("\\[(\\d+)]");
+    // value of a path which is not resolved the same as GPath
+    private static final Object UNRESOLVED = new Object();
+
+    private StreamingJsonReader() {}
+
+    /**
+     * Checks the path can be read using streaming parser, other paths needs to be evaluated with JsonPath.
+     *
+     * @param jsonPath JSON path
+     * @return true for simple field/index paths
+     */
+    public static boolean isSupported(String jsonPath) {
+        return SIMPLE_PATH.matcher(jsonPath).matches();
+    }
+
+    /**
+     * Reads values of all the paths from the JSON body in one pass.
+     *
+     * @param body      JSON body
+     * @param jsonPaths supported JSON paths
+     * @return value for each path, null when path not exists, paths to be evaluated with JsonPath are not in the result
+     */
+    public static Map<String, Object> read(byte[] body, Collection<String> jsonPaths) {
+        Map<String, Object> values = new HashMap<>();
+        List<PathState> states = new ArrayList<>();
+        for (String jsonPath : jsonPaths) {
+            values.put(jsonPath, null);
+            states.add(new PathState(jsonPath, parse(jsonPath), 0));
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != null) {
+                readValue(parser, states, values);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error in reading JSON response body", e);
+        }
+        values.values().removeIf(value -> value == UNRESOLVED);
+        return values;
+    }
+
+    private record Step(String field, int index) {
+        private boolean isIndex() {
+            return field == null;
+        }
+    }
+
+    private record PathState(String jsonPath, List<Step> steps, int position) {
+        private boolean isComplete() {
+            return position == steps.size();
+        }
+
+        private Step step() {
+            return steps.get(position);
+        }
+
+        private PathState next() {
+            return new PathState(jsonPath, steps, position + 1);
+        }
+
+        private List<Step> remaining() {
+            return steps.subList(position, steps.size());
+        }
+
+        // value is created for the end of the path, a field of an array and steps on a value which is not a container
+        private boolean isResolvedOn(JsonToken token) {
+            return isComplete() || (token == JsonToken.START_ARRAY && !step().isIndex())
+                    || (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY);
+        }
+    }
+
+    private static List<Step> parse(String jsonPath) {
+        List<Step> steps = new ArrayList<>();
+        for (String segment : jsonPath.split("\\.")) {
+            int bracket = segment.indexOf('[');
+            steps.add(new Step(bracket < 0 ? segment : segment.substring(0, bracket), -1));
+            if (bracket >= 0) {
+                var matcher = INDEX.matcher(segment.substring(bracket));
+                while (matcher.find()) {
+                    steps.add(new Step(null, Integer.parseInt(matcher.group(1))));
+                }
+            }
+        }
+        return steps;
+    }
+
+    // parser is at the first token of a value, which is matched by all the states
+    private static void readValue(JsonParser parser, List<PathState> states, Map<String, Object> values) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (states.stream().anyMatch(state -> state.isResolvedOn(token))) {
+            Object value = materialize(parser, states.stream().map(PathState::remaining).toList());
+            states.forEach(state -> values.put(state.jsonPath(), resolve(value, state)));
+            return;
+        }
+        if (token == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                parser.nextToken();
+                List<PathState> matched = new ArrayList<>();
+                for (PathState state : states) {
+                    if (!state.step().isIndex() && state.step().field().equals(fieldName)) {
+                        matched.add(state.next());
+                    }
+                }
+                if (matched.isEmpty()) {
+                    parser.skipChildren();
+                } else {
+                    readValue(parser, matched, values);
+                }
+            }
+        } else if (token == JsonToken.START_ARRAY) {
+            int index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                List<PathState> matched = new ArrayList<>();
+                // states on an array are index steps, field steps of an array are resolved on the created array
+                for (PathState state : states) {
+                    if (state.step().index() == index) {
+                        matched.add(state.next());
+                    }
+                }
+                if (matched.isEmpty()) {
+                    parser.skipChildren();
+                } else {
+                    readValue(parser, matched, values);
+                }
+                index++;
+            }
+        }
+    }
+
+    // resolves remaining steps of the path on the materialized value
+    private static Object resolve(Object value, PathState state) {
+        Object current = value;
+        for (int i = state.position(); i < state.steps().size() && current != null && current != UNRESOLVED; i++) {
+            current = resolve(current, state.steps().get(i));
+        }
+        return current;
+    }
+
+    // same as GPath - field of a list collects the field of the items, skipping null items, and is a nested list for
+    // list items; index out of range is null
+    private static Object resolve(Object value, Step step) {
+        if (step.isIndex()) {
+            if (value instanceof List<?> list) {
+                return step.index() < list.size() ? list.get(step.index()) : null;
+            }
+            return value instanceof Map ? null : UNRESOLVED;
+        }
+        if (value instanceof Map<?, ?> map) {
+            return map.get(step.field());
+        }
+        if (value instanceof List<?> list) {
+            List<Object> items = new ArrayList<>();
+            for (Object item : list) {
+                if (item != null) {
+                    Object itemValue = resolve(item, step);
+                    if (itemValue == UNRESOLVED) {
+                        return UNRESOLVED;
+                    }
+                    items.add(itemValue);
+                }
+            }
+            return items;
+        }
+        return UNRESOLVED;
+    }
+
+    // creates only the parts of the value which are read by the paths - a field of an array is read from each item, and
+    // the collected list is indexed from the first index after the fields, so the item value at the index is created
+    private static Object materialize(JsonParser parser, List<List<Step>> paths) throws IOException {
+        if (paths.stream().anyMatch(List::isEmpty)) {
+            return materialize(parser);
+        }
+        return switch (parser.currentToken()) {
+            case START_OBJECT -> {
+                Map<String, Object> map = new LinkedHashMap<>();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String fieldName = parser.currentName();
+                    parser.nextToken();
+                    List<List<Step>> fieldPaths = paths.stream()
+                            .filter(path -> fieldName.equals(path.get(0).field()))
+                            .map(path -> path.subList(1, path.size()))
+                            .toList();
+                    if (fieldPaths.isEmpty()) {
+                        parser.skipChildren();
+                    } else {
+                        map.put(fieldName, materialize(parser, fieldPaths));
+                    }
+                }
+                yield map;
+            }
+            case START_ARRAY -> {
+                List<List<Step>> itemFieldPaths = paths.stream()
+                        .filter(path -> !path.get(0).isIndex())
+                        .map(path -> path.subList(0, getFieldCount(path)))
+                        .toList();
+                List<Object> list = new ArrayList<>();
+                int index = 0;
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    List<List<Step>> itemPaths = new ArrayList<>(itemFieldPaths);
+                    for (List<Step> path : paths) {
+                        if (path.get(0).index() == index) {
+                            itemPaths.add(path.subList(1, path.size()));
+                        }
+                    }
+                    if (itemPaths.isEmpty()) {
+                        // item is not read by the paths, only the position of the items is used
+                        parser.skipChildren();
+                        list.add(null);
+                    } else {
+                        list.add(materialize(parser, itemPaths));
+                    }
+                    index++;
+                }
+                yield list;
+            }
+            default -> materialize(parser);
+        };
+    }
+
+    // field steps at the start of the path
+    private static int getFieldCount(List<Step> path) {
+        int count = 0;
+        while (count < path.size() && !path.get(count).isIndex()) {
+            count++;
+        }
+        return count;
+    }
+
+    private static Object materialize(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case START_OBJECT -> {
+                Map<String, Object> map = new LinkedHashMap<>();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String fieldName = parser.currentName();
+                    parser.nextToken();
+                    map.put(fieldName, materialize(parser));
+                }
+                yield map;
+            }
+            case START_ARRAY -> {
+                List<Object> list = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    list.add(materialize(parser));
+                }
+                yield list;
+            }
+            case VALUE_STRING -> parser.getText();
+            case VALUE_NUMBER_INT -> parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT -> {
+                double value = parser.getDoubleValue();
+                yield Math.abs(value) <= Float.MAX_VALUE ? (Object) (float) value : (Object) value;
+            }
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package com.api.automation.load;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+// failed scenarios are recorded, and do not stop the virtual users before the end of the load test
+public class LoadRunnerTest {
+
+    private static final int USERS = 3;
+    private static final long DURATION = 500;
+
+    @Test
+    public void failingScenarioKeepsAllUsersRunningForDuration() {
+        Map<Thread, Long> lastRuns = new ConcurrentHashMap<>();
+        Runnable failingScenario = () -> {
+            lastRuns.put(Thread.currentThread(), System.currentTimeMillis());
+            sleep(5);
+            throw new AssertionError("expected [200] but found [500]");
+        };
+        long deadline = System.currentTimeMillis() + DURATION;
+        LoadRunner.runUsers(List.of(failingScenario, () -> {
+            throw new IllegalStateException("step error");
+        }), USERS, 0, DURATION, 0);
+
+        assertEquals(lastRuns.size(), USERS, "Users which ran the scenario");
+        lastRuns.values().forEach(lastRun ->
+                assertTrue(lastRun >= deadline - 100, "User stopped %s ms before the end".formatted(deadline - lastRun)));
+    }
+
+    @Test
+    public void failingScenarioRunsAllIterations() {
+        Map<Thread, Integer> runs = new ConcurrentHashMap<>();
+        LoadRunner.runUsers(List.of(() -> {
+            runs.merge(Thread.currentThread(), 1, Integer::sum);
+            throw new AssertionError("failed");
+        }), USERS, 4, DURATION, 0);
+
+        assertEquals(runs.size(), USERS, "Users which ran the scenario");
+        runs.values().forEach(count -> assertEquals(count.intValue(), 4, "Iterations of a user"));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.api.automation.utils;
+
+import io.restassured.path.json.JsonPath;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+// streaming reader returns the same values as RestAssured JsonPath, or leaves the path to be evaluated with JsonPath
+public class StreamingJsonReaderTest {
+
+    private static final String USERS = """
+            {"users": [
+                {"username": "user1", "addresses": [{"city": "A"}, {"city": "B"}], "age": 30},
+                {"addresses": [{"city": "C"}], "age": 40.5},
+                null,
+                {"username": "user3", "addresses": [], "tags": ["x", "y"]}
+            ], "empty": [], "name": "store", "count": 12345678901, "nested": {"items": [[{"id": 1}], [{"id": 2}, {"id": 3}]]}}
+            """;
+
+    @DataProvider(name = "jsonPaths")
+    public Object[][] jsonPaths() {
+        return new Object[][]{
+                {USERS, "name"},
+                {USERS, "count"},
+                {USERS, "missing"},
+                {USERS, "users[0].username"},
+                {USERS, "users[1].username"},
+                {USERS, "users[9].username"},
+                {USERS, "users[1].age"},
+                {USERS, "users.username"},
+                {USERS, "users.age"},
+                {USERS, "users.addresses"},
+                {USERS, "users.addresses[0]"},
+                {USERS, "users.addresses.city"},
+                {USERS, "users.addresses[0].city"},
+                {USERS, "users[0].addresses.city"},
+                {USERS, "users.addresses.city[1]"},
+                {USERS, "users.tags[1]"},
+                {USERS, "empty"},
+                {USERS, "empty.username"},
+                {USERS, "empty[0]"},
+                {USERS, "nested.items.id"},
+                {USERS, "nested.items[1].id"},
+                {USERS, "nested.items.id[1]"},
+                {USERS, "name[0]"},
+                {"[{\"id\": 1}, {\"name\": \"a\"}]", "id"},
+                {"{\"sold\": 5, \"pending\": 0, \"available\": 1.5}", "available"},
+        };
+    }
+
+    @Test(dataProvider = "jsonPaths")
+    public void streamedValueIsSameAsJsonPath(String body, String jsonPath) {
+        Map<String, Object> values = StreamingJsonReader.read(body.getBytes(StandardCharsets.UTF_8), List.of(jsonPath));
+        if (values.containsKey(jsonPath)) {
+            assertEquals(values.get(jsonPath), new JsonPath(body).get(jsonPath), jsonPath);
+        }
+    }
+
+    @Test
+    public void pathsReadInOnePassAreSameAsJsonPath() {
+        List<String> jsonPaths = List.of("users.username", "users[0].addresses", "users.addresses.city", "users[3].tags[0]",
+                "users.age", "nested.items.id", "nested.items[0]");
+        Map<String, Object> values = StreamingJsonReader.read(USERS.getBytes(StandardCharsets.UTF_8), jsonPaths);
+        JsonPath jsonPath = new JsonPath(USERS);
+        jsonPaths.forEach(path -> assertEquals(values.get(path), jsonPath.get(path), path));
+    }
+
+    @Test
+    public void fieldOfValueIsEvaluatedWithJsonPath() {
+        Map<String, Object> values = StreamingJsonReader.read(USERS.getBytes(StandardCharsets.UTF_8), List.of("name.first"));
+        assertFalse(values.containsKey("name.first"));
+    }
+}
@@ -1,6 +1,11 @@
 package com.petstore.api.automation.bdd;
 
+import com.api.automation.stub.StubServer;
+import com.api.automation.utils.HttpClientPool;
+import com.api.automation.utils.LogUtil;
 import com.api.automation.utils.PropertiesUtil;
+import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
 import io.cucumber.java.BeforeAll;
 
 public class BaseSetup {
@@ -8,5 +13,17 @@ public class BaseSetup {
     @BeforeAll
     public static void beforeAll() {
         PropertiesUtil.loadProperties("config.properties");
+        StubServer.startIfLocal();
+    }
+
+    @After
+    public void afterScenario() {
+        LogUtil.flushLogs();
+    }
+
+    @AfterAll
+    public static void afterAll() {
+        LogUtil.flushAllLogs();
+        HttpClientPool.logStats();
     }
 }
@@ -0,0 +1,27 @@
+package com.petstore.api.automation.load;
+
+import com.api.automation.load.LoadRunner;
+import com.api.automation.utils.PropertiesUtil;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+public class LoadSimulation {
+
+    @BeforeClass
+    public void setup() {
+        PropertiesUtil.loadProperties("config.properties");
+    }
+
+    @Test
+    public void loadTest() {
+        Map<String, Object> report = new LoadRunner("classpath:features",
+                "com.api.automation.bdd.steps", "com.petstore.api.automation.bdd").run();
+        double errorRate = (double) report.get("errorRate");
+        double maxErrorRate = Double.parseDouble(PropertiesUtil.getProperty("load.maxErrorRate"));
+        Assert.assertTrue(errorRate <= maxErrorRate,
+                "Load test error rate %s is more than %s".formatted(errorRate, maxErrorRate));
+    }
+}
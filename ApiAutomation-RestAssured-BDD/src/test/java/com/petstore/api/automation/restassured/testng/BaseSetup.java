@@ -1,6 +1,10 @@
 package com.petstore.api.automation.restassured.testng;
 
+import com.api.automation.stub.StubServer;
+import com.api.automation.utils.HttpClientPool;
+import com.api.automation.utils.LogUtil;
 import com.api.automation.utils.PropertiesUtil;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeSuite;
 
 public class BaseSetup {
@@ -8,5 +12,12 @@ public class BaseSetup {
     @BeforeSuite
     public static void beforeSuite() {
         PropertiesUtil.loadProperties("config.properties");
+        StubServer.startIfLocal();
+    }
+
+    @AfterSuite
+    public static void afterSuite() {
+        LogUtil.flushAllLogs();
+        HttpClientPool.logStats();
     }
 }
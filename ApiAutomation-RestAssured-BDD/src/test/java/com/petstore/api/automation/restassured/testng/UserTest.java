@@ -15,7 +15,7 @@ public class UserTest extends BaseSetup {
     @Test(groups = {"user", "in-sprint"})
     public void userTest() {
         String requestBody = DataGenerator.getUserRequestJson();
-        String baseUri = PropertiesUtil.getProperty("prod.api.url");
+        String baseUri = PropertiesUtil.getProperty(PropertiesUtil.getProperty("environment") + ".api.url");
         RestAssured.given()
                 .log().all()
                 .baseUri(baseUri)
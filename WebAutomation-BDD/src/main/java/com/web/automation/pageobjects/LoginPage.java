@@ -1,12 +1,25 @@
 package com.web.automation.pageobjects;
 
+import com.web.automation.utils.CommonUtil;
+import com.web.automation.utils.Constants;
+import com.web.automation.utils.DriverManager;
+import com.web.automation.utils.LoginStateCache;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
 
 import static org.testng.Assert.assertTrue;
 
 public class LoginPage {
 
+    // current page is found with a script, not to wait the implicit wait for the page which is not shown
+    private static final String CURRENT_PAGE_SCRIPT = """
+            return document.querySelector('.inventory_list') ? 'inventory' : document.querySelector(arguments[0]) ? 'login' : null;
+            """;
+
     // page factory
     @FindBy(id = "user-name")
     private WebElement userNameBox;
@@ -27,6 +40,40 @@ public class LoginPage {
         loginBtn.click();
     }
 
+    /**
+     * Logs in with the cached login state of the account, and opens the inventory page. Logs in through the UI and
+     * caches the login state when no valid state is cached, or the cached state is rejected. Used by scenarios which
+     * do not test the login.
+     */
+    public void loginWithCachedState(String userName, String password) {
+        if (LoginStateCache.restore(DriverManager.getDriver(), userName)) {
+            DriverManager.getDriver().get(getInventoryUrl());
+            if (isLoggedIn("[name='login-button']")) {
+                return;
+            }
+            // application redirects to the login page when the state is not accepted
+            LoginStateCache.reject(DriverManager.getDriver(), userName);
+            DriverManager.loadUrl();
+        }
+        login(userName, password);
+        if (isLoggedIn("[data-test='error']")) {
+            LoginStateCache.capture(DriverManager.getDriver(), userName);
+        }
+    }
+
+    // waits for the inventory page, or the element shown when not logged in
+    private boolean isLoggedIn(String notLoggedInSelector) {
+        int explicitWait = Integer.parseInt(CommonUtil.getProperty("explicit.wait"));
+        Object page = new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(explicitWait))
+                .until(driver -> ((JavascriptExecutor) driver).executeScript(CURRENT_PAGE_SCRIPT, notLoggedInSelector));
+        return "inventory".equals(page);
+    }
+
+    private static String getInventoryUrl() {
+        String environment = CommonUtil.getProperty(Constants.ENVIRONMENT);
+        return CommonUtil.getProperty("%s.url".formatted(environment)) + "inventory.html";
+    }
+
     // validates error message displayed in login page for invalid login
     public void checkError(String expectedError) {
         String actualError = error.getText();
@@ -7,40 +7,98 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
 import java.io.IOException;
-import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Slf4j
 public class CSVDataUtil {
 
     private CSVDataUtil() {}
 
-    private static List<Map<String, String>> accountsData;
+    // environment of the accounts available for all environments
+    private static final String ALL_ENVIRONMENTS = "all";
 
+    // accounts indexed by account type and environment at load, replaced as a whole when accounts are loaded again
+    private static volatile Map<String, List<Map<String, String>>> accountsByTypeAndEnv = Map.of();
+
+    /**
+     * Gets a random account for the account type and current environment. Accounts with environment "all" are
+     * available for all environments.
+     *
+     * @param accountType account type
+     * @return account data, empty when no account exists
+     */
     public static Map<String, String> getAccount(String accountType) {
         String environment = CommonUtil.getProperty(Constants.ENVIRONMENT);
-        List<Map<String, String>> accounts = accountsData.stream()
-                .filter(entry -> entry.get(Constants.ACCOUNT_TYPE).equalsIgnoreCase(accountType)
-                        && (entry.get(Constants.ENVIRONMENT).contains(environment)
-                        || entry.get(Constants.ENVIRONMENT).equalsIgnoreCase("all")))
-                .toList();
-        return accounts.isEmpty() ? Map.of() : accounts.get(new SecureRandom().nextInt(accounts.size()));
+        List<Map<String, String>> accounts = getAccounts(accountType, environment);
+        return accounts.isEmpty() ? Map.of() : accounts.get(ThreadLocalRandom.current().nextInt(accounts.size()));
     }
 
     /**
-     * To load all test account's from csv file and data will be stored in a dictionary object.
+     * Gets all the accounts for the account type and environment.
+     *
+     * @param accountType account type
+     * @param environment environment
+     * @return accounts, empty when no account exists
+     */
+    public static List<Map<String, String>> getAccounts(String accountType, String environment) {
+        Map<String, List<Map<String, String>>> accounts = accountsByTypeAndEnv;
+        List<Map<String, String>> envAccounts = accounts.get(getKey(accountType, environment));
+        return envAccounts != null ? envAccounts : accounts.getOrDefault(getKey(accountType, ALL_ENVIRONMENTS), List.of());
+    }
+
+    /**
+     * To load all test account's from csv file and index them by account type and environment. File is read as a
+     * stream, one row at a time. Environment column has one or more environments separated by comma, or "all".
      *
      * @param csvAccountFile optional - csv file path
+     * @throws IllegalArgumentException when a row has no account type or environment
      */
     public static void loadAccounts(String csvAccountFile) {
-        try {
-            File csvFile = new File(csvAccountFile);
-            accountsData = readCSVFile(csvFile);
+        Map<String, List<Map<String, String>>> accounts = new HashMap<>();
+        int count = 0;
+        try (MappingIterator<Map<String, String>> iterator = readCSVRows(new File(csvAccountFile))) {
+            while (iterator.hasNext()) {
+                Map<String, String> account = Map.copyOf(iterator.next());
+                count++;
+                String accountType = account.get(Constants.ACCOUNT_TYPE);
+                String environments = account.get(Constants.ENVIRONMENT);
+                if (accountType == null || environments == null) {
+                    throw new IllegalArgumentException("Missing %s or %s in row %s of %s"
+                            .formatted(Constants.ACCOUNT_TYPE, Constants.ENVIRONMENT, count, csvAccountFile));
+                }
+                for (String environment : environments.split(",")) {
+                    accounts.computeIfAbsent(getKey(accountType, environment.trim()), k -> new ArrayList<>()).add(account);
+                }
+            }
         } catch (IOException e) {
             log.warn(String.format("Exception in loading test accounts data. Error -> %s", e.getMessage()));
+            return;
         }
+        accountsByTypeAndEnv = withAllEnvironments(accounts);
+        log.info("Loaded %s test accounts.".formatted(count));
+    }
+
+    // accounts of all environments are added to the accounts of each environment of the account type
+    private static Map<String, List<Map<String, String>>> withAllEnvironments(Map<String, List<Map<String, String>>> accounts) {
+        Map<String, List<Map<String, String>>> indexed = new HashMap<>();
+        accounts.forEach((key, envAccounts) -> {
+            List<Map<String, String>> all = new ArrayList<>(envAccounts);
+            String allKey = key.substring(0, key.indexOf('|') + 1) + ALL_ENVIRONMENTS;
+            if (!key.equals(allKey)) {
+                all.addAll(accounts.getOrDefault(allKey, List.of()));
+            }
+            indexed.put(key, List.copyOf(all));
+        });
+        return Map.copyOf(indexed);
+    }
+
+    private static String getKey(String accountType, String environment) {
+        return accountType.toLowerCase(Locale.ROOT) + "|" + environment.toLowerCase(Locale.ROOT);
     }
 
     /**
@@ -50,15 +108,23 @@ public class CSVDataUtil {
      * @throws IOException when file not found or error in reading data
      */
     public static List<Map<String, String>> readCSVFile(File csvFile) throws IOException {
-        List<Map<String, String>> data = new ArrayList<>();
+        try (MappingIterator<Map<String, String>> iterator = readCSVRows(csvFile)) {
+            return iterator.readAll();
+        }
+    }
+
+    /**
+     * Reads CSV file rows one at a time, for large files which should not be loaded to a list.
+     *
+     * @param csvFile CSV file
+     * @return row iterator, needs to be closed
+     * @throws IOException when file not found or error in reading data
+     */
+    public static MappingIterator<Map<String, String>> readCSVRows(File csvFile) throws IOException {
         CsvMapper mapper = new CsvMapper();
         CsvSchema schema = CsvSchema.emptySchema().withHeader();
-        MappingIterator<Map<String, String>> iterator = mapper.readerFor(Map.class)
+        return mapper.readerFor(Map.class)
                 .with(schema)
                 .readValues(csvFile);
-        while (iterator.hasNext()) {
-            data.add(iterator.next());
-        }
-        return data;
     }
 }
@@ -8,7 +8,6 @@ import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
-import org.openqa.selenium.io.FileHandler;
 import org.openqa.selenium.logging.LogType;
 import org.openqa.selenium.logging.LoggingPreferences;
 import org.openqa.selenium.remote.AbstractDriverOptions;
@@ -16,12 +15,9 @@ import org.openqa.selenium.remote.DesiredCapabilities;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.safari.SafariDriver;
 import org.openqa.selenium.safari.SafariOptions;
+import org.openqa.selenium.support.ui.WebDriverWait;
 
-import java.io.File;
-import java.io.IOException;
-import java.text.SimpleDateFormat;
 import java.time.Duration;
-import java.util.Date;
 import java.util.Objects;
 import java.util.logging.Level;
 
@@ -31,7 +27,15 @@ import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 @Slf4j
 public class DriverManager {
 
+    // page is ready when the document is parsed and the ready selector, if any, is in the DOM
+    private static final String PAGE_READY_SCRIPT = """
+            return document.readyState !== 'loading' && (!arguments[0] || document.querySelector(arguments[0]) !== null);
+            """;
+
     private static ThreadLocal<RemoteWebDriver> driver = new ThreadLocal<>();
+    // grid capabilities matrix entry and test name of the session to create for the current thread
+    private static final ThreadLocal<GridSessionScheduler.MatrixEntry> gridEntry = new ThreadLocal<>();
+    private static final ThreadLocal<String> testName = new ThreadLocal<>();
 
     public static RemoteWebDriver getDriver() {
         return driver.get();
@@ -42,6 +46,42 @@ public class DriverManager {
     }
 
     public void initializeDriver() {
+        initializeDriver(Thread.currentThread().getName());
+    }
+
+    /**
+     * Initializes driver for the test. With grid execution, the session is scheduled in the grid for the next entry
+     * of the capabilities matrix.
+     *
+     * @param name test name, used in the grid report
+     */
+    public void initializeDriver(String name) {
+        testName.set(name);
+        if (GridSessionScheduler.isEnabled()) {
+            gridEntry.set(GridSessionScheduler.nextMatrixEntry());
+        }
+        if (DriverPool.isEnabled()) {
+            setDriver(DriverPool.lease(getPoolKey(), this::createDriver));
+            log.info("Leased driver session %s from pool.".formatted(getDriver().getSessionId()));
+        } else {
+            setDriver(createDriver());
+        }
+        GridSessionScheduler.startTest(getDriver(), name);
+    }
+
+    /**
+     * Starts the configured number of pooled browser sessions before the first test, when driver pool is enabled.
+     */
+    public void warmUpDriverPool() {
+        if (DriverPool.isEnabled()) {
+            if (GridSessionScheduler.isEnabled()) {
+                gridEntry.set(GridSessionScheduler.nextMatrixEntry());
+            }
+            DriverPool.warmUp(getPoolKey(), this::createDriver);
+        }
+    }
+
+    private RemoteWebDriver createDriver() {
         String browser = CommonUtil.getProperty("browser");
         String testLab = CommonUtil.getProperty("testLab");
         String labUrl = CommonUtil.getProperty("labUrl");
@@ -49,30 +89,60 @@ public class DriverManager {
         int pageLoadWait = Integer.parseInt(CommonUtil.getProperty("pageload.wait"));
         int scriptWait = Integer.parseInt(CommonUtil.getProperty("script.wait"));
         boolean isLocalExecution = isEmpty(testLab) || testLab.equalsIgnoreCase("local");
+        if (GridSessionScheduler.isEnabled() && !CommonUtil.isValidURL(labUrl)) {
+            throw new WebDriverException("Invalid labUrl '%s' for testLab = grid. Set labUrl to the grid url, ex: http://localhost:4444".formatted(labUrl));
+        }
+        boolean isGridExecution = GridSessionScheduler.isEnabled();
         boolean isLabExecution = isNotEmpty(testLab) && CommonUtil.isValidURL(labUrl);
         log.info("Browser Name: %s".formatted(browser));
+        RemoteWebDriver webDriver = null;
         if (isLocalExecution) {
 //            SeleniumManager.getInstance();
             if (browser.equalsIgnoreCase(Constants.BrowserType.CHROME.name())) {
-                setDriver(new ChromeDriver((ChromeOptions) getDriverOptions(Constants.BrowserType.CHROME)));
+                webDriver = new ChromeDriver((ChromeOptions) getDriverOptions(Constants.BrowserType.CHROME));
             } else if (browser.equalsIgnoreCase(Constants.BrowserType.FIREFOX.name())) {
-                setDriver(new FirefoxDriver((FirefoxOptions) getDriverOptions(Constants.BrowserType.FIREFOX)));
+                webDriver = new FirefoxDriver((FirefoxOptions) getDriverOptions(Constants.BrowserType.FIREFOX));
             } else if (browser.equalsIgnoreCase(Constants.BrowserType.EDGE.name())) {
-                setDriver(new EdgeDriver((EdgeOptions) getDriverOptions(Constants.BrowserType.EDGE)));
+                webDriver = new EdgeDriver((EdgeOptions) getDriverOptions(Constants.BrowserType.EDGE));
             } else if (browser.equalsIgnoreCase(Constants.BrowserType.SAFARI.name())) {
-                setDriver(new SafariDriver());
+                webDriver = new SafariDriver();
             }
-            log.info("Initialized %s driver. %s".formatted(browser, getDriver().getSessionId()));
+        } else if (isGridExecution) {
+            GridSessionScheduler.MatrixEntry entry = gridEntry.get() == null ? GridSessionScheduler.nextMatrixEntry() : gridEntry.get();
+            browser = entry.toString();
+            webDriver = GridSessionScheduler.newSession(CommonUtil.getValidURL(labUrl), getGridCapabilities(entry), entry, testName.get());
         } else if (isLabExecution) {
-            setDriver(new RemoteWebDriver(Objects.requireNonNull(CommonUtil.getValidURL(labUrl)), getDesiredCaps()));
+            webDriver = new RemoteWebDriver(Objects.requireNonNull(CommonUtil.getValidURL(labUrl)), getDesiredCaps());
         }
-        if (getDriver() == null) {
+        if (webDriver == null) {
             throw new WebDriverException("Driver not initialized. Check the browser run config.");
         }
-        getDriver().manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWait));
-        getDriver().manage().timeouts().pageLoadTimeout(Duration.ofSeconds(pageLoadWait));
-        getDriver().manage().timeouts().scriptTimeout(Duration.ofSeconds(scriptWait));
-        getDriver().manage().window().maximize();
+        log.info("Initialized %s driver. %s".formatted(browser, webDriver.getSessionId()));
+        webDriver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWait));
+        webDriver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(pageLoadWait));
+        webDriver.manage().timeouts().scriptTimeout(Duration.ofSeconds(scriptWait));
+        webDriver.manage().window().maximize();
+        NetworkInterception.apply(webDriver);
+        return webDriver;
+    }
+
+    // pool key - browser, test lab and hash of the driver options, sessions are re-used only for same key
+    private String getPoolKey() {
+        if (GridSessionScheduler.isEnabled()) {
+            GridSessionScheduler.MatrixEntry entry = gridEntry.get();
+            return "grid-%s-%s".formatted(entry, getGridCapabilities(entry).asMap().hashCode());
+        }
+        String browser = CommonUtil.getProperty("browser");
+        String testLab = CommonUtil.getProperty("testLab");
+        Constants.BrowserType browserType = Constants.BrowserType.valueOf(browser.trim().toUpperCase());
+        return "%s-%s-%s".formatted(browserType, testLab, getDriverOptions(browserType).asMap().hashCode());
+    }
+
+    // driver options of the browser with version and platform of the grid matrix entry
+    private Capabilities getGridCapabilities(GridSessionScheduler.MatrixEntry entry) {
+        return getDriverOptions(entry.browser())
+                .setBrowserVersion(entry.version())
+                .setPlatformName(entry.platform());
     }
 
     private DesiredCapabilities getDesiredCaps() {
@@ -125,34 +195,72 @@ public class DriverManager {
         options.setCapability(logCap, logs);
         options.setAcceptInsecureCerts(Boolean.TRUE);
         options.setBrowserVersion("latest");
-        options.setPageLoadStrategy(PageLoadStrategy.NORMAL);
+        options.setPageLoadStrategy(getPageLoadStrategy());
         options.setUnhandledPromptBehaviour(UnexpectedAlertBehaviour.DISMISS);
         return options;
     }
 
+    /**
+     * Quits or returns to the pool the driver of the test. Can be called when the driver was not started, or already
+     * stopped, so it is used in the cleanup of failed test setup.
+     */
     public void stopDriver() {
-        getDriver().quit();
-        driver.remove();
+        try {
+            if (getDriver() == null) {
+                return;
+            }
+            GridSessionScheduler.endTest(getDriver());
+            if (DriverPool.isEnabled()) {
+                DriverPool.release(getDriver());
+            } else {
+                try {
+                    getDriver().quit();
+                } finally {
+                    GridSessionScheduler.release(getDriver());
+                }
+            }
+        } finally {
+            driver.remove();
+            gridEntry.remove();
+            testName.remove();
+        }
     }
 
     public static void loadUrl() {
         String environment = CommonUtil.getProperty("environment");
         String url = CommonUtil.getProperty("%s.url".formatted(environment));
         DriverManager.getDriver().get(url);
+        if (getPageLoadStrategy() != PageLoadStrategy.NORMAL) {
+            waitForPageReady();
+        }
         log.info("Opened %s url: %s".formatted(environment, url));
     }
 
-    public static void getScreenshot() {
-        File screenshot = ((TakesScreenshot) getDriver()).getScreenshotAs(OutputType.FILE);
+    // "pageload.strategy" - eager returns on DOMContentLoaded without waiting for images, fonts and third party scripts
+    private static PageLoadStrategy getPageLoadStrategy() {
+        String strategy = CommonUtil.getProperty("pageload.strategy");
+        PageLoadStrategy pageLoadStrategy = strategy == null ? null : PageLoadStrategy.fromString(strategy.trim().toLowerCase());
+        return pageLoadStrategy == null ? PageLoadStrategy.NORMAL : pageLoadStrategy;
+    }
+
+    /**
+     * Waits up to "pageload.wait" seconds for the page to be ready, when the page load strategy does not wait for the
+     * load event. Page is ready when the document is parsed and the "pageload.ready.selector" element is in the DOM.
+     */
+    public static void waitForPageReady() {
+        String readySelector = Objects.requireNonNullElse(CommonUtil.getProperty("pageload.ready.selector"), "");
+        int pageLoadWait = Integer.parseInt(CommonUtil.getProperty("pageload.wait"));
         try {
-            String timestamp = new SimpleDateFormat("MMMdd-HH-mm-ss").format(new Date());
-            String fileName = CommonUtil.getProperty("screenshot.file").formatted(timestamp);
-            File file = new File(fileName);
-            file.getParentFile().mkdirs();
-            FileHandler.copy(screenshot, file);
-        } catch (IOException e) {
-            e.printStackTrace();
+            new WebDriverWait(getDriver(), Duration.ofSeconds(pageLoadWait))
+                    .until(webDriver -> Boolean.TRUE.equals(((JavascriptExecutor) webDriver).executeScript(PAGE_READY_SCRIPT, readySelector.trim())));
+        } catch (TimeoutException e) {
+            throw new WebDriverException("Page not ready within %ss, ready selector '%s'".formatted(pageLoadWait, readySelector), e);
         }
     }
 
+    // test thread only captures the screenshot, it is written and attached to the report in background
+    public static void getScreenshot() {
+        ScreenshotPipeline.capture(getDriver(), Objects.requireNonNullElse(testName.get(), "test"));
+    }
+
 }
@@ -0,0 +1,245 @@
+package com.web.automation.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of warm browser sessions keyed by browser type and driver options hash.
+ * Enabled with property "driver.pool", sessions are leased per test, reset on release and re-used
+ * until "driver.pool.maxReuse" is reached.
+ */
+@Slf4j
+public final class DriverPool {
+
+    private static final String RESET_STORAGE_SCRIPT = "window.localStorage.clear(); window.sessionStorage.clear();";
+
+    private static final Map<String, ConcurrentLinkedDeque<PooledDriver>> IDLE = new ConcurrentHashMap<>();
+    private static final Map<String, Semaphore> PERMITS = new ConcurrentHashMap<>();
+    private static final Map<RemoteWebDriver, PooledDriver> LEASED = new ConcurrentHashMap<>();
+
+    private static final AtomicLong LEASES = new AtomicLong();
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong EVICTIONS = new AtomicLong();
+    private static final AtomicLong LEASE_WAIT_NANOS = new AtomicLong();
+
+    private DriverPool() {}
+
+    private static final class PooledDriver {
+        private final String key;
+        private final RemoteWebDriver driver;
+        private int useCount;
+
+        private PooledDriver(String key, RemoteWebDriver driver) {
+            this.key = key;
+            this.driver = driver;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return "true".equalsIgnoreCase(CommonUtil.getProperty("driver.pool"));
+    }
+
+    /**
+     * Leases a healthy idle session for the key or creates a new one, waiting up to "driver.pool.lease.wait"
+     * seconds when the pool is at "driver.pool.size" sessions.
+     *
+     * @param key     browser type and options hash
+     * @param factory creates a new driver on pool miss
+     * @return leased driver
+     */
+    public static RemoteWebDriver lease(String key, Supplier<RemoteWebDriver> factory) {
+        long start = System.nanoTime();
+        acquirePermit(key);
+        LEASE_WAIT_NANOS.addAndGet(System.nanoTime() - start);
+        LEASES.incrementAndGet();
+        PooledDriver pooled;
+        try {
+            pooled = pollHealthy(key);
+            if (pooled == null) {
+                pooled = new PooledDriver(key, factory.get());
+                log.info("Driver pool miss for %s, created session %s".formatted(key, pooled.driver.getSessionId()));
+            } else {
+                HITS.incrementAndGet();
+            }
+        } catch (RuntimeException e) {
+            PERMITS.get(key).release();
+            throw e;
+        }
+        pooled.useCount++;
+        LEASED.put(pooled.driver, pooled);
+        return pooled.driver;
+    }
+
+    /**
+     * Returns the leased driver to the pool after clearing cookies and storage of the app origin and navigating to
+     * about:blank.
+     * Sessions which reached the max re-use count or failed to reset are quit.
+     *
+     * @param driver leased driver
+     */
+    public static void release(RemoteWebDriver driver) {
+        PooledDriver pooled = LEASED.remove(driver);
+        if (pooled == null) {
+            quit(driver);
+            return;
+        }
+        try {
+            int maxReuse = Integer.parseInt(CommonUtil.getProperty("driver.pool.maxReuse"));
+            if (pooled.useCount >= maxReuse || !reset(driver)) {
+                evict(pooled);
+            } else {
+                IDLE.computeIfAbsent(pooled.key, k -> new ConcurrentLinkedDeque<>()).offerFirst(pooled);
+            }
+        } finally {
+            PERMITS.get(pooled.key).release();
+        }
+    }
+
+    /**
+     * Starts "driver.pool.prewarm" sessions for the key ahead of the first lease.
+     *
+     * @param key     browser type and options hash
+     * @param factory creates a new driver
+     */
+    public static void warmUp(String key, Supplier<RemoteWebDriver> factory) {
+        int count = Math.min(Integer.parseInt(CommonUtil.getProperty("driver.pool.prewarm")), getPoolSize());
+        ConcurrentLinkedDeque<PooledDriver> idle = IDLE.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+        for (int i = idle.size(); i < count; i++) {
+            idle.offer(new PooledDriver(key, factory.get()));
+        }
+        log.info("Driver pool warmed up %s session(s) for %s".formatted(idle.size(), key));
+    }
+
+    /**
+     * Quits all idle sessions and logs the pool statistics.
+     */
+    public static void shutdown() {
+        logStats();
+        IDLE.values().forEach(idle -> {
+            PooledDriver pooled;
+            while ((pooled = idle.poll()) != null) {
+                quit(pooled.driver);
+            }
+        });
+        IDLE.clear();
+    }
+
+    public static long getLeaseCount() {
+        return LEASES.get();
+    }
+
+    public static double getHitRate() {
+        long leases = LEASES.get();
+        return leases == 0 ? 0 : (double) HITS.get() / leases;
+    }
+
+    public static double getAverageLeaseWaitMillis() {
+        long leases = LEASES.get();
+        return leases == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(LEASE_WAIT_NANOS.get()) / (double) leases;
+    }
+
+    public static void logStats() {
+        log.info("Driver pool stats: leases = %s; hit rate = %.2f; avg lease wait = %.1f ms; evictions = %s"
+                .formatted(LEASES.get(), getHitRate(), getAverageLeaseWaitMillis(), EVICTIONS.get()));
+    }
+
+    private static void acquirePermit(String key) {
+        Semaphore permits = PERMITS.computeIfAbsent(key, k -> new Semaphore(getPoolSize(), true));
+        int leaseWait = Integer.parseInt(CommonUtil.getProperty("driver.pool.lease.wait"));
+        try {
+            if (!permits.tryAcquire(leaseWait, TimeUnit.SECONDS)) {
+                throw new WebDriverException("Timed out after %ss waiting for a driver session for %s".formatted(leaseWait, key));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted waiting for a driver session for %s".formatted(key), e);
+        }
+    }
+
+    private static PooledDriver pollHealthy(String key) {
+        ConcurrentLinkedDeque<PooledDriver> idle = IDLE.get(key);
+        PooledDriver pooled;
+        while (idle != null && (pooled = idle.pollFirst()) != null) {
+            if (isHealthy(pooled.driver)) {
+                return pooled;
+            }
+            evict(pooled);
+        }
+        return null;
+    }
+
+    private static boolean isHealthy(RemoteWebDriver driver) {
+        try {
+            return driver.getSessionId() != null && !driver.getWindowHandles().isEmpty();
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    // storage and cookies are cleared on the app origin, about:blank has no storage and cookies of its own
+    private static boolean reset(RemoteWebDriver driver) {
+        try {
+            openAppOrigin(driver);
+            clearStorage(driver);
+            driver.manage().deleteAllCookies();
+            driver.get("about:blank");
+            return true;
+        } catch (WebDriverException e) {
+            log.warn("Unable to reset driver session %s. Error -> %s".formatted(driver.getSessionId(), e.getMessage()));
+            return false;
+        }
+    }
+
+    // test can end on any page, app url is loaded when the page is not of the app origin
+    private static void openAppOrigin(RemoteWebDriver driver) {
+        String appUrl = CommonUtil.getProperty("%s.url".formatted(CommonUtil.getProperty("environment")));
+        if (appUrl == null || appUrl.isBlank()) {
+            return;
+        }
+        URI app = URI.create(appUrl.trim());
+        String origin = "%s://%s".formatted(app.getScheme(), app.getRawAuthority());
+        String currentUrl = driver.getCurrentUrl();
+        if (currentUrl == null || !(currentUrl.equals(origin) || currentUrl.startsWith(origin + "/"))) {
+            driver.get(appUrl.trim());
+        }
+    }
+
+    // storage is not accessible on some pages, ex: a browser error page, which does not make the session unusable
+    private static void clearStorage(RemoteWebDriver driver) {
+        try {
+            driver.executeScript(RESET_STORAGE_SCRIPT);
+        } catch (JavascriptException e) {
+            log.debug("Unable to clear storage of driver session %s. Error -> %s".formatted(driver.getSessionId(), e.getMessage()));
+        }
+    }
+
+    private static void evict(PooledDriver pooled) {
+        EVICTIONS.incrementAndGet();
+        quit(pooled.driver);
+    }
+
+    private static void quit(RemoteWebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            log.warn("Error in quitting driver session. Error -> %s".formatted(e.getMessage()));
+        } finally {
+            GridSessionScheduler.release(driver);
+        }
+    }
+
+    private static int getPoolSize() {
+        return Integer.parseInt(CommonUtil.getProperty("driver.pool.size"));
+    }
+}
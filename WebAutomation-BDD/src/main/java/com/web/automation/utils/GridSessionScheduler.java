@@ -0,0 +1,299 @@
+package com.web.automation.utils;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Client side scheduler of remote grid sessions, used with "testLab = grid" and "labUrl" of the grid.
+ * <p>
+ * Session requests are queued in a fair queue, at most "grid.maxSessions" sessions are started at a time (read from
+ * the grid status when 0) and a test waits up to "grid.queue.wait" seconds for a free slot. A session request which
+ * fails because the grid has no free slot is retried "grid.retry.count" times with backoff.
+ * <p>
+ * Capabilities matrix is the combination of "grid.browsers", "grid.versions" and "grid.platforms", sessions are
+ * spread over the matrix entries. Queue wait and execution time of each test are recorded from {@link #startTest} to
+ * {@link #endTest}, also when a pooled session is used by many tests, and are logged and written to
+ * "grid.report.file" at the end of the run.
+ */
+@Slf4j
+public final class GridSessionScheduler {
+
+    private static final Map<RemoteWebDriver, SessionRecord> ACTIVE = new ConcurrentHashMap<>();
+    private static final Map<RemoteWebDriver, TestRecord> RUNNING = new ConcurrentHashMap<>();
+    private static final Queue<Map<String, Object>> COMPLETED = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger NEXT_MATRIX_ENTRY = new AtomicInteger();
+    private static final AtomicInteger SESSIONS = new AtomicInteger();
+
+    private static volatile Semaphore slots;
+    private static volatile List<MatrixEntry> matrix;
+
+    private GridSessionScheduler() {}
+
+    /**
+     * Browser, version and platform of a grid session.
+     */
+    public record MatrixEntry(Constants.BrowserType browser, String version, String platform) {
+        @Override
+        public String toString() {
+            return "%s-%s-%s".formatted(browser.name().toLowerCase(), version, platform);
+        }
+    }
+
+    // queue wait of the session is reported for the test which started it, not for a session started by pool warm up
+    private record SessionRecord(String testName, MatrixEntry entry, long queueWaitMillis, int retries, AtomicInteger tests) {}
+
+    private record TestRecord(String testName, SessionRecord session, int sessionTest, long startNanos) {}
+
+    public static boolean isEnabled() {
+        return "grid".equalsIgnoreCase(CommonUtil.getProperty("testLab"));
+    }
+
+    /**
+     * Gets the next entry of the capabilities matrix, entries are used in turns.
+     *
+     * @return matrix entry
+     */
+    public static MatrixEntry nextMatrixEntry() {
+        List<MatrixEntry> entries = getMatrix();
+        return entries.get(Math.floorMod(NEXT_MATRIX_ENTRY.getAndIncrement(), entries.size()));
+    }
+
+    /**
+     * Gets the capabilities matrix, combinations of "grid.browsers", "grid.versions" and "grid.platforms".
+     *
+     * @return matrix entries
+     */
+    public static List<MatrixEntry> getMatrix() {
+        if (matrix == null) {
+            synchronized (GridSessionScheduler.class) {
+                if (matrix == null) {
+                    List<MatrixEntry> entries = new ArrayList<>();
+                    for (String browser : getList("grid.browsers")) {
+                        for (String version : getList("grid.versions")) {
+                            for (String platform : getList("grid.platforms")) {
+                                entries.add(new MatrixEntry(Constants.BrowserType.valueOf(browser.toUpperCase()), version, platform));
+                            }
+                        }
+                    }
+                    if (entries.isEmpty()) {
+                        throw new WebDriverException("Grid capabilities matrix is empty. Check the grid.browsers, grid.versions and grid.platforms config.");
+                    }
+                    log.info("Grid capabilities matrix: %s".formatted(entries));
+                    matrix = List.copyOf(entries);
+                }
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Starts a session in the grid, after waiting in the queue for a free slot.
+     *
+     * @param gridUrl      grid url
+     * @param capabilities session capabilities
+     * @param entry        matrix entry of the capabilities
+     * @param testName     name of the test which waited for the session, null for pool warm up
+     * @return remote driver
+     * @throws WebDriverException when no slot is free within "grid.queue.wait" seconds or session is not created
+     */
+    public static RemoteWebDriver newSession(URL gridUrl, Capabilities capabilities, MatrixEntry entry, String testName) {
+        Semaphore gridSlots = getSlots(gridUrl);
+        long start = System.nanoTime();
+        acquireSlot(gridSlots, entry);
+        int retryCount = Integer.parseInt(CommonUtil.getProperty("grid.retry.count"));
+        long retryDelay = Long.parseLong(CommonUtil.getProperty("grid.retry.delay"));
+        int retries = 0;
+        try {
+            while (true) {
+                try {
+                    RemoteWebDriver driver = new RemoteWebDriver(gridUrl, capabilities);
+                    long queueWait = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    ACTIVE.put(driver, new SessionRecord(testName, entry, queueWait, retries, new AtomicInteger()));
+                    SESSIONS.incrementAndGet();
+                    log.info("Started grid session %s for %s on %s after %s ms in queue, %s retries"
+                            .formatted(driver.getSessionId(), testName, entry, queueWait, retries));
+                    return driver;
+                } catch (SessionNotCreatedException e) {
+                    if (retries >= retryCount) {
+                        throw e;
+                    }
+                    // grid has no free slot for the capabilities, ex: slots used by other clients of the grid
+                    log.warn("Grid session not created for %s, retry %s of %s. Error -> %s"
+                            .formatted(entry, retries + 1, retryCount, e.getRawMessage()));
+                    Thread.sleep(retryDelay << retries);
+                    retries++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            gridSlots.release();
+            throw new WebDriverException("Interrupted waiting for a grid session for %s".formatted(entry), e);
+        } catch (RuntimeException e) {
+            gridSlots.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Starts the timing of a test on the grid session, when a new or pooled session is leased to the test.
+     *
+     * @param driver   remote driver of the test
+     * @param testName name of the test, for the report
+     */
+    public static void startTest(RemoteWebDriver driver, String testName) {
+        SessionRecord session = driver == null ? null : ACTIVE.get(driver);
+        if (session != null) {
+            RUNNING.put(driver, new TestRecord(testName, session, session.tests().incrementAndGet(), System.nanoTime()));
+        }
+    }
+
+    /**
+     * Records the queue wait and execution time of the test on the grid session, when the session is released by the
+     * test.
+     *
+     * @param driver remote driver of the test
+     */
+    public static void endTest(RemoteWebDriver driver) {
+        TestRecord test = driver == null ? null : RUNNING.remove(driver);
+        if (test == null) {
+            return;
+        }
+        SessionRecord session = test.session();
+        boolean newSession = test.sessionTest() == 1 && session.testName() != null;
+        Map<String, Object> timing = new LinkedHashMap<>();
+        timing.put("test", test.testName());
+        timing.put("capabilities", session.entry().toString());
+        timing.put("sessionId", String.valueOf(driver.getSessionId()));
+        timing.put("sessionTest", test.sessionTest());
+        timing.put("queueWaitMs", newSession ? session.queueWaitMillis() : 0L);
+        timing.put("executionMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - test.startNanos()));
+        timing.put("retries", newSession ? session.retries() : 0);
+        COMPLETED.add(timing);
+    }
+
+    /**
+     * Releases the grid slot of the session, after the session is quit.
+     *
+     * @param driver remote driver
+     */
+    public static void release(RemoteWebDriver driver) {
+        endTest(driver);
+        SessionRecord session = driver == null ? null : ACTIVE.remove(driver);
+        if (session != null) {
+            slots.release();
+        }
+    }
+
+    /**
+     * Logs the queue wait and execution time of the tests and writes them to "grid.report.file".
+     */
+    public static void logStats() {
+        if (COMPLETED.isEmpty()) {
+            return;
+        }
+        List<Map<String, Object>> timings = List.copyOf(COMPLETED);
+        long queueWait = timings.stream().mapToLong(timing -> (long) timing.get("queueWaitMs")).sum();
+        long execution = timings.stream().mapToLong(timing -> (long) timing.get("executionMs")).sum();
+        long maxQueueWait = timings.stream().mapToLong(timing -> (long) timing.get("queueWaitMs")).max().orElse(0);
+        log.info("Grid scheduler stats: tests = %s; sessions = %s; total queue wait = %s ms; max queue wait = %s ms; total execution = %s ms; queue/execution = %.2f"
+                .formatted(timings.size(), SESSIONS.get(), queueWait, maxQueueWait, execution, execution == 0 ? 0 : (double) queueWait / execution));
+        String reportFile = CommonUtil.getProperty("grid.report.file");
+        if (reportFile != null && !reportFile.isBlank()) {
+            try {
+                Path file = Path.of(reportFile);
+                Files.createDirectories(file.toAbsolutePath().getParent());
+                Files.writeString(file, new GsonBuilder().setPrettyPrinting().create().toJson(timings));
+            } catch (IOException e) {
+                log.warn("Error in writing grid report file %s. Error -> %s".formatted(reportFile, e.getMessage()));
+            }
+        }
+    }
+
+    private static void acquireSlot(Semaphore gridSlots, MatrixEntry entry) {
+        int queueWait = Integer.parseInt(CommonUtil.getProperty("grid.queue.wait"));
+        try {
+            if (!gridSlots.tryAcquire(queueWait, TimeUnit.SECONDS)) {
+                throw new WebDriverException("Timed out after %ss waiting for a grid slot for %s".formatted(queueWait, entry));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted waiting for a grid slot for %s".formatted(entry), e);
+        }
+    }
+
+    private static Semaphore getSlots(URL gridUrl) {
+        if (slots == null) {
+            synchronized (GridSessionScheduler.class) {
+                if (slots == null) {
+                    int maxSessions = Integer.parseInt(CommonUtil.getProperty("grid.maxSessions"));
+                    if (maxSessions <= 0) {
+                        maxSessions = readGridMaxSessions(gridUrl);
+                    }
+                    log.info("Grid scheduler max concurrent sessions: %s".formatted(maxSessions));
+                    slots = new Semaphore(maxSessions, true);
+                }
+            }
+        }
+        return slots;
+    }
+
+    // total max sessions of the grid nodes, from the grid status endpoint
+    private static int readGridMaxSessions(URL gridUrl) {
+        try {
+            URI statusUri = URI.create(gridUrl.toString().replaceAll("/+$", "").replaceAll("/wd/hub$", "") + "/status");
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(statusUri).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            JsonObject value = JsonParser.parseString(response.body()).getAsJsonObject().getAsJsonObject("value");
+            int maxSessions = 0;
+            if (value != null && value.has("nodes")) {
+                for (JsonElement node : value.getAsJsonArray("nodes")) {
+                    maxSessions += node.getAsJsonObject().get("maxSessions").getAsInt();
+                }
+            }
+            return Math.max(maxSessions, 1);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unable to read grid max sessions, using 1 session. Error -> %s".formatted(e.getMessage()));
+            return 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 1;
+        }
+    }
+
+    private static List<String> getList(String property) {
+        String value = CommonUtil.getProperty(property);
+        return value == null ? List.of() : Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .toList();
+    }
+}
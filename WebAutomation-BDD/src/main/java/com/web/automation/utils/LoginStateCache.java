@@ -0,0 +1,161 @@
+package com.web.automation.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Login state (cookies and localStorage) of test accounts, enabled with property "login.cache". The state is captured
+ * after the first UI login of an account, and injected in the browser by later tests of any thread, so tests which do
+ * not test the login skip the login page.
+ * <p>
+ * State expires after "login.cache.ttl" seconds, or earlier when a session cookie expires. State rejected by the
+ * application is removed with {@link #reject(WebDriver, String)}, and the next test logs in through the UI again.
+ */
+@Slf4j
+public final class LoginStateCache {
+
+    private static final String READ_STORAGE_SCRIPT = """
+            var state = {};
+            for (var i = 0; i < window.localStorage.length; i++) {
+                var key = window.localStorage.key(i);
+                state[key] = window.localStorage.getItem(key);
+            }
+            return state;
+            """;
+
+    private static final String WRITE_STORAGE_SCRIPT = """
+            var state = arguments[0];
+            Object.keys(state).forEach(function (key) { window.localStorage.setItem(key, state[key]); });
+            """;
+
+    private static final Map<String, LoginState> STATES = new ConcurrentHashMap<>();
+
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong EXPIRED = new AtomicLong();
+    private static final AtomicLong REJECTED = new AtomicLong();
+
+    private LoginStateCache() {}
+
+    private record LoginState(Set<Cookie> cookies, Map<String, String> localStorage, Instant expiresAt) {}
+
+    public static boolean isEnabled() {
+        return "true".equalsIgnoreCase(CommonUtil.getProperty("login.cache"));
+    }
+
+    /**
+     * Captures login state of the account from the browser, after a successful login.
+     *
+     * @param driver  web driver, on a page of the application
+     * @param account account user name
+     */
+    public static void capture(WebDriver driver, String account) {
+        if (!isEnabled()) {
+            return;
+        }
+        Set<Cookie> cookies = driver.manage().getCookies();
+        Map<String, String> localStorage = asMap(((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT));
+        STATES.put(getKey(account), new LoginState(cookies, localStorage, getExpiry(cookies)));
+        log.info("Captured login state of %s: %s cookies, %s localStorage entries".formatted(account, cookies.size(), localStorage.size()));
+    }
+
+    /**
+     * Injects the cached login state of the account in the browser. The page needs to be loaded again to use the
+     * state.
+     *
+     * @param driver  web driver, on a page of the application
+     * @param account account user name
+     * @return true when the state is injected, false when no valid state is cached
+     */
+    public static boolean restore(WebDriver driver, String account) {
+        if (!isEnabled()) {
+            return false;
+        }
+        String key = getKey(account);
+        LoginState state = STATES.get(key);
+        if (state == null) {
+            MISSES.incrementAndGet();
+            return false;
+        }
+        if (Instant.now().isAfter(state.expiresAt())) {
+            STATES.remove(key, state);
+            EXPIRED.incrementAndGet();
+            return false;
+        }
+        try {
+            state.cookies().forEach(driver.manage()::addCookie);
+            ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, state.localStorage());
+        } catch (WebDriverException e) {
+            log.warn("Unable to restore login state of %s. Error -> %s".formatted(account, e.getMessage()));
+            reject(driver, account);
+            return false;
+        }
+        HITS.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Removes the login state of the account, when it is not accepted by the application, and clears the injected
+     * state from the browser.
+     *
+     * @param driver  web driver
+     * @param account account user name
+     */
+    public static void reject(WebDriver driver, String account) {
+        STATES.remove(getKey(account));
+        REJECTED.incrementAndGet();
+        try {
+            driver.manage().deleteAllCookies();
+            ((JavascriptExecutor) driver).executeScript("window.localStorage.clear();");
+        } catch (WebDriverException e) {
+            log.debug("Unable to clear login state of %s. Error -> %s".formatted(account, e.getMessage()));
+        }
+        log.info("Login state of %s rejected, removed from cache".formatted(account));
+    }
+
+    public static void invalidate(String account) {
+        STATES.remove(getKey(account));
+    }
+
+    public static void invalidateAll() {
+        STATES.clear();
+    }
+
+    public static void logStats() {
+        log.info("Login state cache stats: hits = %s; misses = %s; expired = %s; rejected = %s"
+                .formatted(HITS.get(), MISSES.get(), EXPIRED.get(), REJECTED.get()));
+    }
+
+    // state of the account is per environment
+    private static String getKey(String account) {
+        return account + "|" + CommonUtil.getProperty(Constants.ENVIRONMENT);
+    }
+
+    // "login.cache.ttl" seconds, or the first expiry of the cookies
+    private static Instant getExpiry(Set<Cookie> cookies) {
+        Instant expiresAt = Instant.now().plusSeconds(Long.parseLong(CommonUtil.getProperty("login.cache.ttl")));
+        return cookies.stream()
+                .map(Cookie::getExpiry)
+                .filter(Objects::nonNull)
+                .map(Date::toInstant)
+                .filter(expiresAt::isAfter)
+                .min(Instant::compareTo)
+                .orElse(expiresAt);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> asMap(Object value) {
+        return value instanceof Map ? Map.copyOf((Map<String, String>) value) : Map.of();
+    }
+}
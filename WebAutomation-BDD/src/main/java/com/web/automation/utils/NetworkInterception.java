@@ -0,0 +1,108 @@
+package com.web.automation.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Blocks and stubs browser requests, which are not needed for the functional checks of the tests, ex: analytics and
+ * fonts, so pages load faster. Applied to each new driver session of a Chromium browser.
+ * <p>
+ * Url patterns in "network.block" (with * wildcard) are blocked by the browser with DevTools Network.setBlockedURLs.
+ * Requests matching the url patterns of the stubs in "network.stubs" JSON file get the stubbed response, all the
+ * requests are intercepted when stubs are used, so stubs are used only for requests which can not be blocked.
+ */
+@Slf4j
+public final class NetworkInterception {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private NetworkInterception() {}
+
+    private record Stub(String urlPattern, int status, String contentType, String body) {
+
+        private Pattern toRegex() {
+            return Pattern.compile(Arrays.stream(urlPattern.split("\\*", -1))
+                    .map(Pattern::quote)
+                    .collect(Collectors.joining(".*")));
+        }
+    }
+
+    /**
+     * Applies the blocked url patterns and stubs to the driver session.
+     *
+     * @param driver new driver session
+     */
+    public static void apply(RemoteWebDriver driver) {
+        List<String> blockedUrls = getBlockedUrls();
+        List<Stub> stubs = getStubs();
+        if (blockedUrls.isEmpty() && stubs.isEmpty()) {
+            return;
+        }
+        if (!(driver instanceof HasCdp cdp)) {
+            log.info("Network interception is supported for Chromium browsers, not applied to %s".formatted(driver.getCapabilities().getBrowserName()));
+            return;
+        }
+        if (!blockedUrls.isEmpty()) {
+            cdp.executeCdpCommand("Network.enable", Map.of());
+            cdp.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", blockedUrls));
+            log.info("Blocked urls %s for session %s".formatted(blockedUrls, driver.getSessionId()));
+        }
+        if (!stubs.isEmpty() && driver instanceof HasDevTools) {
+            new NetworkInterceptor(driver, getStubFilter(stubs));
+            log.info("Stubbed %s url patterns for session %s".formatted(stubs.size(), driver.getSessionId()));
+        }
+    }
+
+    private static Filter getStubFilter(List<Stub> stubs) {
+        Map<Pattern, Stub> patterns = stubs.stream().collect(Collectors.toMap(Stub::toRegex, stub -> stub));
+        return next -> request -> {
+            for (Map.Entry<Pattern, Stub> entry : patterns.entrySet()) {
+                if (entry.getKey().matcher(request.getUri()).matches()) {
+                    Stub stub = entry.getValue();
+                    return new HttpResponse()
+                            .setStatus(stub.status())
+                            .addHeader("Content-Type", stub.contentType())
+                            .setContent(Contents.utf8String(stub.body()));
+                }
+            }
+            return next.execute(request);
+        };
+    }
+
+    private static List<String> getBlockedUrls() {
+        String blocked = CommonUtil.getProperty("network.block");
+        return blocked == null ? List.of() : Arrays.stream(blocked.split(","))
+                .map(String::trim)
+                .filter(pattern -> !pattern.isEmpty())
+                .toList();
+    }
+
+    private static List<Stub> getStubs() {
+        String stubsFile = CommonUtil.getProperty("network.stubs");
+        if (stubsFile == null || stubsFile.isBlank()) {
+            return List.of();
+        }
+        try {
+            return MAPPER.readValue(new File(stubsFile), new TypeReference<List<Stub>>() {});
+        } catch (IOException e) {
+            log.warn("Error in reading network stubs file %s. Error -> %s".formatted(stubsFile, e.getMessage()));
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.web.automation.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.AbstractAnnotations;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.DefaultElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.internal.LocatingElementHandler;
+import org.openqa.selenium.support.pagefactory.internal.LocatingElementListHandler;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates page objects with the same element proxies as {@code PageFactory.initElements}, but the page fields and
+ * their locators are read with reflection once per page class and cached. Creating a page object only creates the
+ * element proxies for the driver.
+ */
+public final class PageObjectFactory {
+
+    private static final Map<Class<?>, PageMetadata> PAGE_METADATA = new ConcurrentHashMap<>();
+
+    private PageObjectFactory() {}
+
+    private record PageField(Field field, By locator, boolean lookupCached, boolean list) {}
+
+    private record PageMetadata(Constructor<?> constructor, boolean driverConstructor, List<PageField> fields) {}
+
+    /**
+     * Creates page object of the class, with element fields bound to the driver.
+     *
+     * @param driver    web driver
+     * @param pageClass page object class, with a no-arg or WebDriver constructor
+     * @return page object
+     * @throws WebDriverException when page object can not be created
+     */
+    public static <T> T create(WebDriver driver, Class<T> pageClass) {
+        PageMetadata metadata = PAGE_METADATA.computeIfAbsent(pageClass, PageObjectFactory::readMetadata);
+        try {
+            T page = pageClass.cast(metadata.driverConstructor()
+                    ? metadata.constructor().newInstance(driver)
+                    : metadata.constructor().newInstance());
+            for (PageField pageField : metadata.fields()) {
+                pageField.field().set(page, createProxy(driver, pageField));
+            }
+            return page;
+        } catch (ReflectiveOperationException e) {
+            throw new WebDriverException("Unable to create page object %s".formatted(pageClass.getName()), e);
+        }
+    }
+
+    // same fields as PageFactory default decorator - all WebElement fields and annotated List<WebElement> fields
+    private static PageMetadata readMetadata(Class<?> pageClass) {
+        List<PageField> fields = new ArrayList<>();
+        for (Class<?> type = pageClass; type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                boolean list = isElementList(field);
+                if (!Modifier.isStatic(field.getModifiers()) && (field.getType() == WebElement.class || list)) {
+                    Annotations annotations = new Annotations(field);
+                    field.setAccessible(true);
+                    fields.add(new PageField(field, annotations.buildBy(), annotations.isLookupCached(), list));
+                }
+            }
+        }
+        try {
+            Constructor<?> constructor;
+            boolean driverConstructor;
+            try {
+                constructor = pageClass.getDeclaredConstructor(WebDriver.class);
+                driverConstructor = true;
+            } catch (NoSuchMethodException e) {
+                constructor = pageClass.getDeclaredConstructor();
+                driverConstructor = false;
+            }
+            constructor.setAccessible(true);
+            return new PageMetadata(constructor, driverConstructor, List.copyOf(fields));
+        } catch (NoSuchMethodException e) {
+            throw new WebDriverException("Page object %s needs a no-arg or WebDriver constructor".formatted(pageClass.getName()), e);
+        }
+    }
+
+    private static boolean isElementList(Field field) {
+        return field.getType() == List.class
+                && field.getGenericType() instanceof ParameterizedType type
+                && type.getActualTypeArguments()[0] == WebElement.class
+                && (field.isAnnotationPresent(FindBy.class) || field.isAnnotationPresent(FindBys.class)
+                || field.isAnnotationPresent(FindAll.class));
+    }
+
+    private static Object createProxy(SearchContext searchContext, PageField pageField) {
+        ElementLocator locator = new DefaultElementLocator(searchContext, new CachedAnnotations(pageField));
+        ClassLoader classLoader = pageField.field().getDeclaringClass().getClassLoader();
+        if (pageField.list()) {
+            return Proxy.newProxyInstance(classLoader, new Class[]{List.class}, new LocatingElementListHandler(locator));
+        }
+        return Proxy.newProxyInstance(classLoader, new Class[]{WebElement.class, WrapsElement.class, Locatable.class},
+                new LocatingElementHandler(locator));
+    }
+
+    // locator read once from the field annotations
+    private static final class CachedAnnotations extends AbstractAnnotations {
+
+        private final PageField pageField;
+
+        private CachedAnnotations(PageField pageField) {
+            this.pageField = pageField;
+        }
+
+        @Override
+        public By buildBy() {
+            return pageField.locator();
+        }
+
+        @Override
+        public boolean isLookupCached() {
+            return pageField.lookupCached();
+        }
+    }
+}
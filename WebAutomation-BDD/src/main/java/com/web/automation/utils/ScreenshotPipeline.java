@@ -0,0 +1,143 @@
+package com.web.automation.utils;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Screenshots are captured as bytes on the test thread, and scaled, written to "screenshot.file" and to the Allure
+ * attachment on a background thread. The attachment is added to the running test when the screenshot is captured, so
+ * it belongs to the right test. Pending screenshots are written before the end of the run with {@link #shutdown()}.
+ */
+@Slf4j
+public final class ScreenshotPipeline {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final AtomicLong CAPTURED = new AtomicLong();
+    private static final AtomicLong FAILED = new AtomicLong();
+
+    private static volatile ExecutorService executor;
+
+    private ScreenshotPipeline() {}
+
+    /**
+     * Captures screenshot of the driver and queues it to be written and attached to the Allure report.
+     *
+     * @param driver   web driver
+     * @param testName test name, used in the file name
+     */
+    public static void capture(WebDriver driver, String testName) {
+        byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        CAPTURED.incrementAndGet();
+        Path file = Path.of(CommonUtil.getProperty("screenshot.file").formatted(getUniqueName(testName)));
+        double scale = Double.parseDouble(CommonUtil.getProperty("screenshot.scale"));
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String attachment = lifecycle.prepareAttachment("Screenshot", "image/png", "png");
+        Runnable task = () -> write(lifecycle, attachment, file, screenshot, scale);
+        try {
+            getExecutor().execute(task);
+        } catch (RejectedExecutionException e) {
+            // executor was shut down after it was read, a new executor is created
+            getExecutor().execute(task);
+        }
+    }
+
+    /**
+     * Waits for the pending screenshots to be written, up to "screenshot.wait" seconds. Screenshots captured after the
+     * shutdown are written by a new executor.
+     */
+    public static void shutdown() {
+        ExecutorService pending;
+        // executor is reset before it is shut down, so a capture does not get the executor which rejects the screenshot
+        synchronized (ScreenshotPipeline.class) {
+            pending = executor;
+            executor = null;
+        }
+        if (pending == null) {
+            return;
+        }
+        pending.shutdown();
+        try {
+            int wait = Integer.parseInt(CommonUtil.getProperty("screenshot.wait"));
+            if (!pending.awaitTermination(wait, TimeUnit.SECONDS)) {
+                log.warn("Screenshots not written within %ss".formatted(wait));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Screenshot stats: captured = %s; failed = %s".formatted(CAPTURED.get(), FAILED.get()));
+    }
+
+    private static void write(AllureLifecycle lifecycle, String attachment, Path file, byte[] screenshot, double scale) {
+        try {
+            byte[] image = scale < 1 ? downscale(screenshot, scale) : screenshot;
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, image);
+            lifecycle.writeAttachment(attachment, new ByteArrayInputStream(image));
+        } catch (IOException | RuntimeException e) {
+            FAILED.incrementAndGet();
+            log.warn("Error in writing screenshot %s. Error -> %s".formatted(file, e.getMessage()));
+        }
+    }
+
+    // scaled image is re-encoded as PNG
+    private static byte[] downscale(byte[] screenshot, double scale) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(screenshot));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(scaled, "png", output);
+        return output.toByteArray();
+    }
+
+    // timestamp, test, thread and sequence number - unique for parallel tests
+    private static String getUniqueName(String testName) {
+        String timestamp = new SimpleDateFormat("MMMdd-HH-mm-ss").format(new Date());
+        String name = "%s-%s-%s-%s".formatted(timestamp, testName, Thread.currentThread().getName(), SEQUENCE.incrementAndGet());
+        return name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static ExecutorService getExecutor() {
+        ExecutorService current = executor;
+        if (current == null) {
+            synchronized (ScreenshotPipeline.class) {
+                current = executor;
+                if (current == null) {
+                    int threads = Integer.parseInt(CommonUtil.getProperty("screenshot.threads"));
+                    current = Executors.newFixedThreadPool(threads, runnable -> {
+                        Thread thread = new Thread(runnable, "screenshot-writer");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    executor = current;
+                }
+            }
+        }
+        return current;
+    }
+}
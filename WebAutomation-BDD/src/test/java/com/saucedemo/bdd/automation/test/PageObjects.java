@@ -4,27 +4,23 @@ import com.web.automation.pageobjects.CartPage;
 import com.web.automation.pageobjects.CheckoutPage;
 import com.web.automation.pageobjects.InventoryPage;
 import com.web.automation.pageobjects.LoginPage;
-import com.web.automation.utils.DriverManager;
-import lombok.extern.slf4j.Slf4j;
-import org.openqa.selenium.support.PageFactory;
 
-@Slf4j
+// page objects of the current scenario, created on first use by the scenario context
 public class PageObjects {
 
-    public PageObjects() {
-        initializePageObjects();
+    public LoginPage loginPage() {
+        return ScenarioContext.current().getPage(LoginPage.class);
     }
 
-    public LoginPage loginPage;
-    protected InventoryPage inventoryPage;
-    protected CartPage cartPage;
-    protected CheckoutPage checkoutPage;
+    protected InventoryPage inventoryPage() {
+        return ScenarioContext.current().getPage(InventoryPage.class);
+    }
 
-    public void initializePageObjects() {
-        loginPage = PageFactory.initElements(DriverManager.getDriver(), LoginPage.class);;
-        inventoryPage = PageFactory.initElements(DriverManager.getDriver(), InventoryPage.class);
-        cartPage = PageFactory.initElements(DriverManager.getDriver(), CartPage.class);
-        checkoutPage = PageFactory.initElements(DriverManager.getDriver(), CheckoutPage.class);
+    protected CartPage cartPage() {
+        return ScenarioContext.current().getPage(CartPage.class);
     }
 
+    protected CheckoutPage checkoutPage() {
+        return ScenarioContext.current().getPage(CheckoutPage.class);
+    }
 }
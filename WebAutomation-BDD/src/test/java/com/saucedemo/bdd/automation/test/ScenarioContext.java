@@ -0,0 +1,59 @@
+package com.saucedemo.bdd.automation.test;
+
+import com.web.automation.utils.DriverManager;
+import com.web.automation.utils.PageObjectFactory;
+import org.openqa.selenium.WebDriver;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Context of the scenario running on the current thread, bound to the driver leased for the scenario. Page objects
+ * are created on first use in the scenario, so starting a context only creates an empty page map.
+ */
+public final class ScenarioContext {
+
+    private static final ThreadLocal<ScenarioContext> CURRENT = new ThreadLocal<>();
+
+    private final WebDriver driver;
+    private final Map<Class<?>, Object> pages = new HashMap<>();
+
+    private ScenarioContext(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Starts the context for the scenario, after the driver is initialized for the scenario.
+     */
+    public static void start() {
+        CURRENT.set(new ScenarioContext(DriverManager.getDriver()));
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Gets context of the scenario running on the current thread.
+     *
+     * @return scenario context
+     * @throws IllegalStateException when no scenario is started on the current thread
+     */
+    public static ScenarioContext current() {
+        ScenarioContext context = CURRENT.get();
+        if (context == null) {
+            throw new IllegalStateException("Scenario context not started on thread %s".formatted(Thread.currentThread().getName()));
+        }
+        return context;
+    }
+
+    /**
+     * Gets page object of the class for the scenario, created on first use.
+     *
+     * @param pageClass page object class
+     * @return page object
+     */
+    public <T> T getPage(Class<T> pageClass) {
+        return pageClass.cast(pages.computeIfAbsent(pageClass, type -> PageObjectFactory.create(driver, type)));
+    }
+}
@@ -1,7 +1,13 @@
 package com.saucedemo.bdd.automation.test.stepdefinitions;
 
 import com.saucedemo.bdd.automation.test.PageObjects;
+import com.saucedemo.bdd.automation.test.ScenarioContext;
+import com.web.automation.utils.AccountPool;
 import com.web.automation.utils.DriverManager;
+import com.web.automation.utils.DriverPool;
+import com.web.automation.utils.GridSessionScheduler;
+import com.web.automation.utils.LoginStateCache;
+import com.web.automation.utils.ScreenshotPipeline;
 import io.cucumber.java.*;
 
 import static com.web.automation.utils.CSVDataUtil.loadAccounts;
@@ -21,20 +27,32 @@ public class BaseSetup extends PageObjects {
         loadProperties("src/test/resources/config.properties");
         String accountsCSV = getProperty("accountsCSV");
         loadAccounts(accountsCSV);
+        new DriverManager().warmUpDriverPool();
     }
 
     @Before
     public void beforeScenario(Scenario scenario) {
-        driverManager.initializeDriver();
+        driverManager.initializeDriver(scenario.getName());
+        ScenarioContext.start();
     }
 
+    // Cucumber runs after hooks also when the before hook fails, accounts are released also when the driver fails to stop
     @After
     public void afterScenario(Scenario scenario) {
-        driverManager.stopDriver();
+        ScenarioContext.end();
+        try {
+            driverManager.stopDriver();
+        } finally {
+            AccountPool.releaseAll();
+        }
     }
 
     @AfterAll
     public static void suiteTearDown() {
-
+        ScreenshotPipeline.shutdown();
+        DriverPool.shutdown();
+        AccountPool.logStats();
+        GridSessionScheduler.logStats();
+        LoginStateCache.logStats();
     }
 }
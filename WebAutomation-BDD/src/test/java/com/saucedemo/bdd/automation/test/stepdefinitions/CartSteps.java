@@ -9,7 +9,7 @@ public class CartSteps extends PageObjects {
 
     @And("I proceed to checkout")
     public void proceedToCheckout() {
-        cartPage.continueToCheckout();
+        cartPage().continueToCheckout();
     }
 
 }
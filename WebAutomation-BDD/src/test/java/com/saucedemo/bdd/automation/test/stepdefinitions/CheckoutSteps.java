@@ -12,17 +12,17 @@ public class CheckoutSteps extends PageObjects {
 
     @And("I enter customer information")
     public void enterCustomerInfo() {
-        checkoutPage.enterCustomerInfo(DataConstants.custInfoData);
+        checkoutPage().enterCustomerInfo(DataConstants.custInfoData);
     }
 
     @And("I review & submit the order")
     public void iReviewSubmitTheOrder() {
-        checkoutPage.submitOrder();
+        checkoutPage().submitOrder();
     }
 
     @Then("I should see order confirmation")
     public void iShouldSeeOrderConfirmation() {
-        checkoutPage.checkOrderConfirmation();
+        checkoutPage().checkOrderConfirmation();
         DriverManager.getScreenshot();
     }
 }
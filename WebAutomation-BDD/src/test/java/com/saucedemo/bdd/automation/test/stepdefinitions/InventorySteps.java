@@ -11,12 +11,12 @@ public class InventorySteps extends PageObjects {
 
     @Then("I should see inventory page")
     public void checkInventoryPage() {
-        inventoryPage.checkTitle(DataConstants.PRODUCTS);
+        inventoryPage().checkTitle(DataConstants.PRODUCTS);
     }
 
     @When("I add {string} products to cart")
     public void iAddProductsToCart(String product) {
         String[] products = product.split(",");
-        inventoryPage.addProductsToCart(products);
+        inventoryPage().addProductsToCart(products);
     }
 }
@@ -1,6 +1,7 @@
 package com.saucedemo.bdd.automation.test.stepdefinitions;
 
 import com.saucedemo.bdd.automation.test.PageObjects;
+import com.web.automation.utils.AccountPool;
 import com.web.automation.utils.DriverManager;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
@@ -9,8 +10,6 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.Map;
 
-import static com.web.automation.utils.CSVDataUtil.getAccount;
-
 @Slf4j
 public class LoginSteps extends PageObjects{
 
@@ -21,13 +20,19 @@ public class LoginSteps extends PageObjects{
 
     @When("I login as a {} user")
     public void loginAsAUser(String userType) {
-        Map<String, String> account = getAccount(userType);
-        loginPage.login(account.get("userName"), account.get("password"));
+        Map<String, String> account = AccountPool.acquire(userType);
+        loginPage().login(account.get("userName"), account.get("password"));
+    }
+
+    @Given("I am logged in as a {} user")
+    public void loggedInAsAUser(String userType) {
+        Map<String, String> account = AccountPool.acquire(userType);
+        loginPage().loginWithCachedState(account.get("userName"), account.get("password"));
     }
 
     @Then("I should see {string} message")
     public void iShouldSeeMessage(String expectedError) {
-        loginPage.checkError(expectedError);
+        loginPage().checkError(expectedError);
     }
 
 }
@@ -8,7 +8,7 @@ Feature: Product Order
 
   @smoke @positive
   Scenario Outline: Successfully place order for product(s) - <products>
-    Given I login as a <accountType> user
+    Given I am logged in as a <accountType> user
     When I add '<products>' products to cart
     And I proceed to checkout
     And I enter customer information
@@ -5,6 +5,8 @@ import com.web.automation.utils.dataprovider.model.CustomerInfo;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
 
+import java.util.Map;
+
 import static org.testng.Assert.assertEquals;
 
 public class CheckoutPage extends WebUtil {
@@ -42,10 +44,13 @@ public class CheckoutPage extends WebUtil {
 
     @Step("Check Order Confirmation page")
     public void checkOrderConfirmation() {
-        assertEquals(getText(title), "Checkout: Complete!");
-        assertEquals(getValue(completeImg, "alt"), "Pony Express");
-        assertEquals(getText(completeHeader), "Thank you for your order!");
-        assertEquals(getText(completeDesc), "Your order has been dispatched, and will arrive just as fast as the pony can get there!");
+        // confirmation page is loaded before reading all the texts and the image alt in one call
+        waitForText(title, "Checkout: Complete!");
+        Map<By, String> values = getValues(Map.of(title, "", completeImg, "alt", completeHeader, "", completeDesc, ""));
+        assertEquals(values.get(title), "Checkout: Complete!");
+        assertEquals(values.get(completeImg), "Pony Express");
+        assertEquals(values.get(completeHeader), "Thank you for your order!");
+        assertEquals(values.get(completeDesc), "Your order has been dispatched, and will arrive just as fast as the pony can get there!");
         getScreenshot();
     }
 }
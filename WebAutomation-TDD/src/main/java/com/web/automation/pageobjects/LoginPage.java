@@ -1,9 +1,14 @@
 package com.web.automation.pageobjects;
 
+import com.web.automation.utils.CommonUtil;
+import com.web.automation.utils.Constants;
+import com.web.automation.utils.ElementCache;
+import com.web.automation.utils.LoginStateCache;
 import com.web.automation.utils.WebUtil;
 import com.web.automation.utils.dataprovider.model.TestData;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
+import org.openqa.selenium.support.ui.ExpectedConditions;
 
 import static org.testng.Assert.assertTrue;
 
@@ -17,6 +22,8 @@ public class LoginPage extends WebUtil {
 
     private final By error = By.cssSelector("[data-test='error'");
 
+    private final By inventoryList = By.cssSelector(".inventory_list");
+
     // login using username and email provided
     @Step("Login as '{data.accountType}' user")
     public void login(TestData data) {
@@ -25,6 +32,41 @@ public class LoginPage extends WebUtil {
         click(loginBtn);
     }
 
+    /**
+     * Logs in with the cached login state of the account, and opens the inventory page. Logs in through the UI and
+     * caches the login state when no valid state is cached, or the cached state is rejected. Used by tests which do
+     * not test the login.
+     */
+    @Step("Login as '{data.accountType}' user with cached login state")
+    public void loginWithCachedState(TestData data) {
+        if (LoginStateCache.restore(getDriver(), data.getUserName())) {
+            getDriver().get(getInventoryUrl());
+            ElementCache.invalidate();
+            if (isLoggedIn(loginBtn)) {
+                return;
+            }
+            // application redirects to the login page when the state is not accepted
+            LoginStateCache.reject(getDriver(), data.getUserName());
+            loadUrl();
+        }
+        login(data);
+        if (isLoggedIn(error)) {
+            LoginStateCache.capture(getDriver(), data.getUserName());
+        }
+    }
+
+    // waits for the inventory page, or the element shown when not logged in
+    private boolean isLoggedIn(By notLoggedIn) {
+        waitFor(inventoryList, ExpectedConditions.or(ExpectedConditions.visibilityOfElementLocated(inventoryList),
+                ExpectedConditions.visibilityOfElementLocated(notLoggedIn)));
+        return !getDriver().findElements(inventoryList).isEmpty();
+    }
+
+    private static String getInventoryUrl() {
+        String environment = CommonUtil.getProperty(Constants.ENVIRONMENT);
+        return CommonUtil.getProperty("%s.url".formatted(environment)) + "inventory.html";
+    }
+
     // validates error message displayed in login page for invalid login
     @Step("Check login page shows error '{expectedError}'")
     public void checkError(String expectedError) {
@@ -0,0 +1,174 @@
+package com.web.automation.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.stream.Collectors;
+
+/**
+ * Exclusive leasing of test accounts, so parallel tests do not log in with the same account at the same time.
+ * Enabled with property "account.lease". Each account type has a fair queue, a test waits up to "account.lease.wait"
+ * seconds for a free account of its type. Account types in "account.lease.shared" are not leased and can be used by
+ * parallel tests, ex: invalid or locked accounts which do not create a session.
+ * <p>
+ * Accounts are leased to the test thread and released with {@link #releaseAll()} at the end of the test.
+ */
+@Slf4j
+public final class AccountPool {
+
+    private static final Map<String, AccountQueue> QUEUES = new ConcurrentHashMap<>();
+    private static final ThreadLocal<List<Lease>> LEASES = ThreadLocal.withInitial(ArrayList::new);
+
+    private static final AtomicLong ACQUIRES = new AtomicLong();
+    private static final AtomicLong CONTENDED = new AtomicLong();
+    private static final AtomicLong TIMEOUTS = new AtomicLong();
+    private static final AtomicLong WAIT_NANOS = new AtomicLong();
+    private static final LongAccumulator MAX_WAIT_NANOS = new LongAccumulator(Long::max, 0);
+
+    private AccountPool() {}
+
+    private record Lease(AccountQueue queue, Map<String, String> account) {}
+
+    private static final class AccountQueue {
+        private final String key;
+        private final int size;
+        private final Semaphore permits;
+        private final ConcurrentLinkedDeque<Map<String, String>> idle;
+        private final AtomicLong contended = new AtomicLong();
+
+        private AccountQueue(String key, List<Map<String, String>> accounts) {
+            this.key = key;
+            this.size = accounts.size();
+            this.permits = new Semaphore(accounts.size(), true);
+            this.idle = new ConcurrentLinkedDeque<>(accounts);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return "true".equalsIgnoreCase(CommonUtil.getProperty("account.lease"));
+    }
+
+    /**
+     * Acquires an account of the type for the current test. Waits for a free account when all the accounts of the
+     * type are leased by other tests.
+     *
+     * @param accountType account type
+     * @return account data, empty when no account exists
+     * @throws WebDriverException when no account is released within "account.lease.wait" seconds
+     */
+    public static Map<String, String> acquire(String accountType) {
+        if (!isEnabled() || isShared(accountType)) {
+            return CSVDataUtil.getAccount(accountType);
+        }
+        String environment = CommonUtil.getProperty(Constants.ENVIRONMENT);
+        AccountQueue queue = QUEUES.computeIfAbsent(accountType.toLowerCase(Locale.ROOT) + "|" + environment,
+                key -> new AccountQueue(key, CSVDataUtil.getAccounts(accountType, environment)));
+        if (queue.size == 0) {
+            return Map.of();
+        }
+        ACQUIRES.incrementAndGet();
+        acquirePermit(queue);
+        Map<String, String> account = queue.idle.poll();
+        LEASES.get().add(new Lease(queue, account));
+        return account;
+    }
+
+    /**
+     * Releases the account leased by the current test.
+     *
+     * @param account leased account
+     */
+    public static void release(Map<String, String> account) {
+        Iterator<Lease> leases = LEASES.get().iterator();
+        while (leases.hasNext()) {
+            Lease lease = leases.next();
+            if (lease.account() == account) {
+                leases.remove();
+                release(lease);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Releases all the accounts leased by the current test.
+     */
+    public static void releaseAll() {
+        List<Lease> leases = LEASES.get();
+        leases.forEach(AccountPool::release);
+        leases.clear();
+    }
+
+    public static double getContentionRate() {
+        long acquires = ACQUIRES.get();
+        return acquires == 0 ? 0 : (double) CONTENDED.get() / acquires;
+    }
+
+    public static double getAverageWaitMillis() {
+        long acquires = ACQUIRES.get();
+        return acquires == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(WAIT_NANOS.get()) / (double) acquires;
+    }
+
+    public static void logStats() {
+        String contendedTypes = QUEUES.values().stream()
+                .filter(queue -> queue.contended.get() > 0)
+                .map(queue -> "%s=%s".formatted(queue.key, queue.contended.get()))
+                .collect(Collectors.joining(", "));
+        log.info(("Account pool stats: acquires = %s; contended = %s (%.2f); avg wait = %.1f ms; max wait = %s ms; "
+                + "timeouts = %s; contended types = [%s]").formatted(ACQUIRES.get(), CONTENDED.get(), getContentionRate(),
+                getAverageWaitMillis(), TimeUnit.NANOSECONDS.toMillis(MAX_WAIT_NANOS.get()), TIMEOUTS.get(), contendedTypes));
+    }
+
+    private static boolean isShared(String accountType) {
+        String shared = CommonUtil.getProperty("account.lease.shared");
+        if (shared == null || shared.isBlank()) {
+            return false;
+        }
+        Set<String> sharedTypes = Arrays.stream(shared.split(","))
+                .map(type -> type.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        return sharedTypes.contains(accountType.toLowerCase(Locale.ROOT));
+    }
+
+    // zero timeout acquire is used instead of tryAcquire(), which does not honour the fairness of the queue
+    private static void acquirePermit(AccountQueue queue) {
+        int leaseWait = Integer.parseInt(CommonUtil.getProperty("account.lease.wait"));
+        long start = System.nanoTime();
+        try {
+            if (queue.permits.tryAcquire(0, TimeUnit.SECONDS)) {
+                return;
+            }
+            CONTENDED.incrementAndGet();
+            queue.contended.incrementAndGet();
+            if (!queue.permits.tryAcquire(leaseWait, TimeUnit.SECONDS)) {
+                TIMEOUTS.incrementAndGet();
+                throw new WebDriverException("Timed out after %ss waiting for a test account for %s".formatted(leaseWait, queue.key));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted waiting for a test account for %s".formatted(queue.key), e);
+        } finally {
+            long wait = System.nanoTime() - start;
+            WAIT_NANOS.addAndGet(wait);
+            MAX_WAIT_NANOS.accumulate(wait);
+        }
+    }
+
+    private static void release(Lease lease) {
+        lease.queue().idle.offer(lease.account());
+        lease.queue().permits.release();
+    }
+}
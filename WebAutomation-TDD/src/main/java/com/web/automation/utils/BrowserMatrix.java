@@ -0,0 +1,84 @@
+package com.web.automation.utils;
+
+import org.openqa.selenium.WebDriverException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cross browser matrix of a test run, enabled with property "browser.matrix" (ex: chrome,firefox,edge). Each test runs
+ * on each browser of the matrix in the same run, and at most "browser.matrix.threads" sessions (ex: chrome:4,firefox:2)
+ * run at a time for a browser, as heavier browsers need more resources per session.
+ */
+public final class BrowserMatrix {
+
+    private static final Map<String, Semaphore> PERMITS = new ConcurrentHashMap<>();
+
+    private BrowserMatrix() {}
+
+    public static boolean isEnabled() {
+        return !getBrowsers().isEmpty();
+    }
+
+    public static List<String> getBrowsers() {
+        String browsers = CommonUtil.getProperty("browser.matrix");
+        if (browsers == null || browsers.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(browsers.split(","))
+                .map(browser -> browser.trim().toLowerCase(Locale.ROOT))
+                .filter(browser -> !browser.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Gets the max concurrent sessions of the browser from "browser.matrix.threads", 1 when not configured.
+     *
+     * @param browser browser name
+     * @return max concurrent sessions
+     */
+    public static int getThreads(String browser) {
+        String threads = CommonUtil.getProperty("browser.matrix.threads");
+        if (threads == null) {
+            return 1;
+        }
+        return Arrays.stream(threads.split(","))
+                .map(entry -> entry.trim().split(":"))
+                .filter(entry -> entry.length == 2 && entry[0].trim().equalsIgnoreCase(browser))
+                .map(entry -> Integer.parseInt(entry[1].trim()))
+                .findFirst()
+                .orElse(1);
+    }
+
+    /**
+     * Waits for a free session slot of the browser, up to "browser.matrix.wait" seconds.
+     *
+     * @param browser browser name
+     * @throws WebDriverException when no slot is free within the wait time
+     */
+    public static void acquire(String browser) {
+        Semaphore permits = PERMITS.computeIfAbsent(browser.toLowerCase(Locale.ROOT), key -> new Semaphore(getThreads(key), true));
+        int wait = Integer.parseInt(CommonUtil.getProperty("browser.matrix.wait"));
+        try {
+            if (!permits.tryAcquire(wait, TimeUnit.SECONDS)) {
+                throw new WebDriverException("Timed out after %ss waiting for a %s session slot".formatted(wait, browser));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted waiting for a %s session slot".formatted(browser), e);
+        }
+    }
+
+    public static void release(String browser) {
+        Semaphore permits = PERMITS.get(browser.toLowerCase(Locale.ROOT));
+        if (permits != null) {
+            permits.release();
+        }
+    }
+}
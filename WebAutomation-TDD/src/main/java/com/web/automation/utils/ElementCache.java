@@ -0,0 +1,133 @@
+package com.web.automation.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Element cache of the current page, keyed by locator, so repeated actions on the same element do not look it up
+ * again. Enabled with property "element.cache". The cache is kept per test thread and driver session, and is
+ * invalidated on page load and for an element when it is stale.
+ * <p>
+ * The condition of the action (visible, clickable) is checked on a cached element, so a cached element is used only
+ * when it is ready for the action, else it is looked up again with the wait of the action. Elements are not removed
+ * after a click, an element removed by a click or a page change fails the check as stale and is looked up again.
+ */
+@Slf4j
+public final class ElementCache {
+
+    private static final ThreadLocal<PageElements> PAGE_ELEMENTS = new ThreadLocal<>();
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder STALE = new LongAdder();
+
+    private static volatile Boolean enabled;
+
+    private ElementCache() {}
+
+    private record PageElements(SessionId sessionId, Map<By, WebElement> elements) {}
+
+    public static boolean isEnabled() {
+        if (enabled == null) {
+            enabled = "true".equalsIgnoreCase(CommonUtil.getProperty("element.cache"));
+        }
+        return enabled;
+    }
+
+    /**
+     * Gets the cached element of the locator when it meets the condition, or looks it up and caches it.
+     *
+     * @param locator   element locator
+     * @param condition condition of the action, checked on the cached element without waiting
+     * @param lookup    element lookup with the wait of the action, used when element is not cached or not ready
+     * @return element
+     */
+    public static WebElement get(By locator, Predicate<WebElement> condition, Function<By, WebElement> lookup) {
+        if (!isEnabled()) {
+            return lookup.apply(locator);
+        }
+        Map<By, WebElement> elements = getPageElements();
+        WebElement element = elements.get(locator);
+        long start = System.nanoTime();
+        if (element != null && isReady(element, condition)) {
+            // check of the cached element is the wait of the action
+            WaitStats.record(locator, Duration.ofNanos(System.nanoTime() - start).toMillis(), false);
+            HITS.increment();
+            return element;
+        }
+        MISSES.increment();
+        element = lookup.apply(locator);
+        elements.put(locator, element);
+        return element;
+    }
+
+    public static void put(By locator, WebElement element) {
+        if (isEnabled()) {
+            getPageElements().put(locator, element);
+        }
+    }
+
+    private static boolean isReady(WebElement element, Predicate<WebElement> condition) {
+        try {
+            return condition.test(element);
+        } catch (StaleElementReferenceException e) {
+            STALE.increment();
+            return false;
+        }
+    }
+
+    /**
+     * Removes the stale element of the locator, so it is looked up again.
+     *
+     * @param locator element locator
+     */
+    public static void evict(By locator) {
+        STALE.increment();
+        PageElements pageElements = PAGE_ELEMENTS.get();
+        if (pageElements != null) {
+            pageElements.elements().remove(locator);
+        }
+    }
+
+    /**
+     * Removes all the cached elements of the current thread, on page load.
+     */
+    public static void invalidate() {
+        PAGE_ELEMENTS.remove();
+    }
+
+    public static double getHitRate() {
+        long lookups = HITS.sum() + MISSES.sum();
+        return lookups == 0 ? 0 : (double) HITS.sum() / lookups;
+    }
+
+    public static void logStats() {
+        if (isEnabled()) {
+            log.info("Element cache stats: hits = %s; misses = %s; hit rate = %.2f; stale = %s"
+                    .formatted(HITS.sum(), MISSES.sum(), getHitRate(), STALE.sum()));
+        }
+    }
+
+    // cached elements belong to the driver session, pooled sessions are re-used by other tests
+    private static Map<By, WebElement> getPageElements() {
+        RemoteWebDriver driver = DriverManager.getDriver();
+        SessionId sessionId = driver == null ? null : driver.getSessionId();
+        PageElements pageElements = PAGE_ELEMENTS.get();
+        if (pageElements == null || !Objects.equals(pageElements.sessionId(), sessionId)) {
+            pageElements = new PageElements(sessionId, new HashMap<>());
+            PAGE_ELEMENTS.set(pageElements);
+        }
+        return pageElements.elements();
+    }
+}
@@ -0,0 +1,238 @@
+package com.web.automation.utils;
+
+import com.google.gson.Gson;
+import io.qameta.allure.listener.StepLifecycleListener;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.StepResult;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Browser performance telemetry of each Allure step, enabled with property "telemetry". Registered as an Allure step
+ * listener, so all the @Step methods of WebUtil and page objects are measured.
+ * <p>
+ * For each step, Navigation Timing of a page load, resource requests, long tasks (Performance Timeline API), script and
+ * layout time and JS heap (Chrome DevTools Performance metrics, Chromium browsers only) and browser console errors are
+ * added as step parameters in the Allure report, and appended as a JSON line to "telemetry.file". Console errors of a
+ * nested step are also counted in the enclosing steps.
+ */
+@Slf4j
+public class StepTelemetryListener implements StepLifecycleListener {
+
+    // keeps long tasks of the page, buffered entries are read when observer is added after page load
+    private static final String OBSERVE_SCRIPT = """
+            if (!window.__stepTelemetry) {
+                window.__stepTelemetry = { longTasks: [] };
+                try {
+                    new PerformanceObserver(function (list) {
+                        list.getEntries().forEach(function (entry) {
+                            window.__stepTelemetry.longTasks.push({ start: entry.startTime, duration: entry.duration });
+                        });
+                    }).observe({ type: 'longtask', buffered: true });
+                } catch (e) {}
+            }
+            """;
+
+    private static final String START_SCRIPT = OBSERVE_SCRIPT + """
+            return { timeOrigin: performance.timeOrigin, now: performance.now(),
+                resources: performance.getEntriesByType('resource').length };
+            """;
+
+    // page load in the step is a new document, with a different time origin
+    private static final String STOP_SCRIPT = OBSERVE_SCRIPT + """
+            var sameDocument = performance.timeOrigin === arguments[0];
+            var since = sameDocument ? arguments[1] : 0;
+            var resources = performance.getEntriesByType('resource').slice(sameDocument ? arguments[2] : 0);
+            var longTasks = window.__stepTelemetry.longTasks.filter(function (task) { return task.start >= since; });
+            var navigation = sameDocument ? null : performance.getEntriesByType('navigation')[0];
+            return {
+                url: location.href,
+                requests: resources.length,
+                transferBytes: resources.reduce(function (sum, r) { return sum + (r.transferSize || 0); }, 0),
+                slowestRequestMs: Math.round(resources.reduce(function (max, r) { return Math.max(max, r.duration); }, 0)),
+                longTasks: longTasks.length,
+                longTaskMs: Math.round(longTasks.reduce(function (sum, task) { return sum + task.duration; }, 0)),
+                navigation: navigation ? {
+                    ttfbMs: Math.round(navigation.responseStart - navigation.requestStart),
+                    domInteractiveMs: Math.round(navigation.domInteractive),
+                    domContentLoadedMs: Math.round(navigation.domContentLoadedEventEnd),
+                    loadMs: Math.round(navigation.loadEventEnd),
+                    transferBytes: navigation.transferSize
+                } : null
+            };
+            """;
+
+    private static final Map<String, String> CDP_METRICS = Map.of(
+            "ScriptDuration", "scriptMs", "LayoutDuration", "layoutMs", "TaskDuration", "taskMs");
+
+    private static final ThreadLocal<Deque<Map<String, Object>>> STEPS = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final Set<SessionId> CDP_SESSIONS = ConcurrentHashMap.newKeySet();
+    private static final Gson GSON = new Gson();
+    private static final Object FILE_LOCK = new Object();
+
+    private static volatile Boolean enabled;
+
+    public static boolean isEnabled() {
+        if (enabled == null) {
+            if (CommonUtil.getProperties() == null) {
+                return false;
+            }
+            enabled = "true".equalsIgnoreCase(CommonUtil.getProperty("telemetry"));
+        }
+        return enabled;
+    }
+
+    @Override
+    public void beforeStepStart(StepResult result) {
+        Map<String, Object> start = Map.of();
+        RemoteWebDriver driver = DriverManager.getDriver();
+        if (isEnabled() && driver != null) {
+            try {
+                start = new HashMap<>(asMap(driver.executeScript(START_SCRIPT)));
+                start.put("cdp", getCdpMetrics(driver));
+                // errors before the step are of the enclosing steps
+                readConsoleErrors(driver, STEPS.get());
+                start.put("consoleErrors", 0L);
+            } catch (WebDriverException e) {
+                log.debug("Unable to start step telemetry. Error -> %s".formatted(e.getMessage()));
+                start = Map.of();
+            }
+        }
+        // steps are nested on the thread, pushed for each step so stop pops the step's own start
+        STEPS.get().push(start);
+    }
+
+    @Override
+    public void beforeStepStop(StepResult result) {
+        Deque<Map<String, Object>> steps = STEPS.get();
+        Map<String, Object> start = steps.isEmpty() ? Map.of() : steps.pop();
+        RemoteWebDriver driver = DriverManager.getDriver();
+        if (start.isEmpty() || driver == null) {
+            return;
+        }
+        try {
+            Map<String, Object> telemetry = new LinkedHashMap<>();
+            telemetry.put("timestamp", System.currentTimeMillis());
+            telemetry.put("test", DriverManager.getTestName());
+            telemetry.put("browser", DriverManager.getBrowser());
+            telemetry.put("step", result.getName());
+            telemetry.put("durationMs", System.currentTimeMillis() - result.getStart());
+            telemetry.putAll(asMap(driver.executeScript(STOP_SCRIPT, start.get("timeOrigin"), start.get("now"), start.get("resources"))));
+            Map<String, Double> cdpStart = asMap(start.get("cdp"));
+            getCdpMetrics(driver).forEach((name, value) -> telemetry.put(name,
+                    name.endsWith("Ms") ? Math.round(getDelta(value, cdpStart.getOrDefault(name, 0.0))) : Math.round(value)));
+            telemetry.put("consoleErrors", (Long) start.getOrDefault("consoleErrors", 0L) + readConsoleErrors(driver, steps));
+            addParameters(result, telemetry);
+            write(telemetry);
+        } catch (WebDriverException e) {
+            log.debug("Unable to read step telemetry. Error -> %s".formatted(e.getMessage()));
+        }
+    }
+
+    // durations in ms since the start of the page, heap in bytes
+    private static Map<String, Double> getCdpMetrics(RemoteWebDriver driver) {
+        if (!(driver instanceof HasCdp cdp)) {
+            return Map.of();
+        }
+        if (CDP_SESSIONS.add(driver.getSessionId())) {
+            cdp.executeCdpCommand("Performance.enable", Map.of());
+        }
+        Map<String, Double> metrics = new HashMap<>();
+        List<Map<String, Object>> values = asList(cdp.executeCdpCommand("Performance.getMetrics", Map.of()).get("metrics"));
+        for (Map<String, Object> metric : values) {
+            String name = (String) metric.get("name");
+            double value = ((Number) metric.get("value")).doubleValue();
+            if (CDP_METRICS.containsKey(name)) {
+                metrics.put(CDP_METRICS.get(name), value * 1000);
+            } else if ("JSHeapUsedSize".equals(name)) {
+                metrics.put("heapUsedBytes", value);
+            }
+        }
+        return metrics;
+    }
+
+    // DevTools durations are totals of the page, and start again from 0 on page load
+    private static double getDelta(double value, double startValue) {
+        return value < startValue ? value : value - startValue;
+    }
+
+    // browser log is consumed when read, errors are added to the enclosing steps open on the thread, so a step also
+    // counts the errors read by its nested steps
+    private static long readConsoleErrors(RemoteWebDriver driver, Deque<Map<String, Object>> steps) {
+        long errors = getConsoleErrors(driver);
+        if (errors > 0) {
+            steps.stream()
+                    .filter(step -> step.containsKey("consoleErrors"))
+                    .forEach(step -> step.put("consoleErrors", (Long) step.get("consoleErrors") + errors));
+        }
+        return errors;
+    }
+
+    // browser log since the last read
+    private static long getConsoleErrors(RemoteWebDriver driver) {
+        try {
+            return driver.manage().logs().get(LogType.BROWSER).getAll().stream()
+                    .map(LogEntry::getLevel)
+                    .filter(Level.SEVERE::equals)
+                    .count();
+        } catch (WebDriverException | UnsupportedOperationException e) {
+            return 0;
+        }
+    }
+
+    private static void addParameters(StepResult result, Map<String, Object> telemetry) {
+        telemetry.forEach((name, value) -> {
+            if (value != null && !List.of("timestamp", "test", "browser", "step", "url").contains(name)) {
+                result.getParameters().add(new Parameter().setName("perf." + name)
+                        .setValue(value instanceof Map ? GSON.toJson(value) : String.valueOf(value)));
+            }
+        });
+    }
+
+    // JSON lines time series, one line per step
+    private static void write(Map<String, Object> telemetry) {
+        String telemetryFile = CommonUtil.getProperty("telemetry.file");
+        if (telemetryFile == null || telemetryFile.isBlank()) {
+            return;
+        }
+        synchronized (FILE_LOCK) {
+            try {
+                Path file = Path.of(telemetryFile);
+                Files.createDirectories(file.toAbsolutePath().getParent());
+                Files.writeString(file, GSON.toJson(telemetry) + System.lineSeparator(),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                log.warn("Error in writing telemetry file %s. Error -> %s".formatted(telemetryFile, e.getMessage()));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Map<String, V> asMap(Object value) {
+        return value instanceof Map ? (Map<String, V>) value : Map.of();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> asList(Object value) {
+        return value instanceof List ? (List<Map<String, Object>>) value : List.of();
+    }
+}
@@ -0,0 +1,108 @@
+package com.web.automation.utils;
+
+import com.google.gson.GsonBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.By;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Wait time statistics per locator, recorded by WebUtil explicit waits. Slowest locators and timeouts are logged and
+ * written to "wait.stats.file" at the end of the run, to find slow pages and bad locators.
+ */
+@Slf4j
+public final class WaitStats {
+
+    private static final int TOP_LOCATORS = 10;
+    private static final Map<String, LocatorStats> STATS = new ConcurrentHashMap<>();
+
+    private WaitStats() {}
+
+    private static final class LocatorStats {
+        private final LongAdder waits = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private final LongAccumulator maxMillis = new LongAccumulator(Long::max, 0);
+
+        private double getAverageMillis() {
+            long count = waits.sum();
+            return count == 0 ? 0 : (double) totalMillis.sum() / count;
+        }
+    }
+
+    /**
+     * Records wait time of a locator.
+     *
+     * @param locator  element locator
+     * @param millis   wait time
+     * @param timedOut element condition not met within timeout
+     */
+    public static void record(By locator, long millis, boolean timedOut) {
+        LocatorStats stats = STATS.computeIfAbsent(locator.toString(), k -> new LocatorStats());
+        stats.waits.increment();
+        stats.totalMillis.add(millis);
+        stats.maxMillis.accumulate(millis);
+        if (timedOut) {
+            stats.timeouts.increment();
+        }
+    }
+
+    /**
+     * Gets statistics per locator, sorted by total wait time.
+     *
+     * @return locator statistics
+     */
+    public static Map<String, Map<String, Object>> getStats() {
+        Map<String, Map<String, Object>> report = new LinkedHashMap<>();
+        STATS.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LocatorStats> entry) -> entry.getValue().totalMillis.sum()).reversed())
+                .forEach(entry -> {
+                    LocatorStats stats = entry.getValue();
+                    Map<String, Object> values = new LinkedHashMap<>();
+                    values.put("waits", stats.waits.sum());
+                    values.put("timeouts", stats.timeouts.sum());
+                    values.put("totalMs", stats.totalMillis.sum());
+                    values.put("avgMs", Math.round(stats.getAverageMillis()));
+                    values.put("maxMs", stats.maxMillis.get());
+                    report.put(entry.getKey(), values);
+                });
+        return report;
+    }
+
+    /**
+     * Logs the slowest locators and writes all the locator statistics to "wait.stats.file".
+     */
+    public static void report() {
+        if (STATS.isEmpty()) {
+            return;
+        }
+        Map<String, Map<String, Object>> stats = getStats();
+        List<String> slowest = stats.entrySet().stream().limit(TOP_LOCATORS)
+                .map(entry -> "%s -> %s".formatted(entry.getKey(), entry.getValue()))
+                .toList();
+        log.info("Wait stats for %s locators, slowest: %n%s".formatted(stats.size(), String.join(System.lineSeparator(), slowest)));
+        String statsFile = CommonUtil.getProperty("wait.stats.file");
+        if (statsFile != null && !statsFile.isBlank()) {
+            try {
+                Path file = Path.of(statsFile);
+                Files.createDirectories(file.toAbsolutePath().getParent());
+                Files.writeString(file, new GsonBuilder().setPrettyPrinting().create().toJson(stats));
+            } catch (IOException e) {
+                log.warn("Error in writing wait stats file %s. Error -> %s".formatted(statsFile, e.getMessage()));
+            }
+        }
+    }
+
+    public static void reset() {
+        STATS.clear();
+    }
+}
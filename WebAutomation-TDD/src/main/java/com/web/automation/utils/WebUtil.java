@@ -1,33 +1,331 @@
 package com.web.automation.utils;
 
 import io.qameta.allure.Step;
+import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.WebDriverWait;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Element actions with explicit waits for the condition of each action (present, visible, clickable, text), used with
+ * zero implicit wait. Waits poll from "wait.poll.min" ms, doubling up to "wait.poll.max" ms, so fast pages are not
+ * slowed down and slow pages are not polled too often. Wait time of each locator is recorded in {@link WaitStats}.
+ * <p>
+ * When "element.cache" is enabled, actions re-use the element found by an earlier action on the same page from
+ * {@link ElementCache}, when it meets the condition of the action. A stale cached element is looked up again and the
+ * action is retried once.
+ * <p>
+ * Batch methods read texts, attributes or click multiple elements in a single JavaScript call, instead of a WebDriver
+ * call per element. Elements not found or not displayed by the script are handled with the element actions.
+ */
+@Slf4j
 public class WebUtil extends DriverManager {
 
+    // finds the first element of a By locator in the page, locator is [using, value] of the remote parameters
+    private static final String FIND_ELEMENT_SCRIPT = """
+            function findElement(locator) {
+                var using = locator[0], value = locator[1];
+                switch (using) {
+                    case 'css selector': return document.querySelector(value);
+                    case 'id': return document.getElementById(value);
+                    case 'name': return document.getElementsByName(value)[0] || null;
+                    case 'class name': return document.getElementsByClassName(value)[0] || null;
+                    case 'tag name': return document.getElementsByTagName(value)[0] || null;
+                    case 'xpath': return document.evaluate(value, document, null,
+                            XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;
+                    case 'link text':
+                    case 'partial link text': return Array.from(document.getElementsByTagName('a')).find(function (link) {
+                        var text = link.innerText.trim();
+                        return using === 'link text' ? text === value : text.indexOf(value) >= 0;
+                    }) || null;
+                    default: throw new Error('Unsupported locator ' + using);
+                }
+            }
+            function isDisplayed(element) {
+                return element.getClientRects().length > 0 && getComputedStyle(element).visibility !== 'hidden';
+            }
+            """;
+
+    // returns [value] per locator, null when element is not found, or not displayed for text, attribute '' is text
+    private static final String READ_ELEMENTS_SCRIPT = FIND_ELEMENT_SCRIPT + """
+            var attributes = arguments[1];
+            return arguments[0].map(function (locator, index) {
+                var attribute = attributes[index];
+                var element = findElement(locator);
+                if (element === null || (attribute === '' && !isDisplayed(element))) {
+                    return null;
+                }
+                return [attribute === '' ? element.innerText.trim() : element.getAttribute(attribute)];
+            });
+            """;
+
+    // clicks elements in order, stops at the first element not found, not displayed, disabled or failing to click,
+    // returns the count of clicked elements also on error, so clicked elements are not clicked again
+    private static final String CLICK_ELEMENTS_SCRIPT = FIND_ELEMENT_SCRIPT + """
+            var clicked = 0;
+            try {
+                for (var i = 0; i < arguments[0].length; i++) {
+                    var element = findElement(arguments[0][i]);
+                    if (element === null || !isDisplayed(element) || element.disabled) {
+                        break;
+                    }
+                    element.click();
+                    clicked++;
+                }
+            } catch (e) {
+                // remaining elements are clicked with the element action, which reports the error
+            }
+            return clicked;
+            """;
+
+    // conditions of the actions, checked on cached elements
+    private static final Predicate<WebElement> PRESENT = element -> true;
+    private static final Predicate<WebElement> VISIBLE = WebElement::isDisplayed;
+    private static final Predicate<WebElement> CLICKABLE = element -> element.isDisplayed() && element.isEnabled();
+
+    private static volatile WaitConfig waitConfig;
+
+    private record WaitConfig(Duration timeout, Duration minPoll, Duration maxPoll, long slowMillis) {}
+
     public WebElement getElement(By locator) {
-        return getDriver().findElement(locator);
+        return cache(locator, waitFor(locator, ExpectedConditions.presenceOfElementLocated(locator)));
+    }
+
+    public WebElement getVisibleElement(By locator) {
+        return cache(locator, waitFor(locator, ExpectedConditions.visibilityOfElementLocated(locator)));
+    }
+
+    public WebElement getClickableElement(By locator) {
+        return cache(locator, waitFor(locator, ExpectedConditions.elementToBeClickable(locator)));
     }
 
     @Step("Type value '{value}' in element '{element}'")
     public void typeValue(By element, String value) {
-        getElement(element).sendKeys(value);
+        onElement(element, VISIBLE, this::getVisibleElement, webElement -> {
+            webElement.sendKeys(value);
+            return null;
+        });
     }
 
     @Step("Click on element '{element}'")
     public void click(By element) {
-        getElement(element).click();
+        onElement(element, CLICKABLE, this::getClickableElement, webElement -> {
+            webElement.click();
+            return null;
+        });
     }
 
     @Step("Get text value of element '{element}'")
     public String getText(By element) {
-        return getElement(element).getText();
+        return onElement(element, VISIBLE, this::getVisibleElement, WebElement::getText);
     }
 
     @Step("Get '{attribute}' attribute value of element '{element}'")
     public String getValue(By element, String attribute) {
-        return getElement(element).getAttribute(attribute);
+        return onElement(element, PRESENT, this::getElement, webElement -> webElement.getAttribute(attribute));
     }
 
+    /**
+     * Gets text of multiple elements in a single JavaScript call.
+     *
+     * @param elements element locators
+     * @return text of each element, in order of locators
+     */
+    @Step("Get text value of elements '{elements}'")
+    public Map<By, String> getTexts(List<By> elements) {
+        return getValues(elements.stream().collect(toAttributes("")));
+    }
+
+    /**
+     * Gets attribute value of multiple elements in a single JavaScript call.
+     *
+     * @param elements  element locators
+     * @param attribute attribute name
+     * @return attribute value of each element, in order of locators
+     */
+    @Step("Get '{attribute}' attribute value of elements '{elements}'")
+    public Map<By, String> getValues(List<By> elements, String attribute) {
+        return getValues(elements.stream().collect(toAttributes(attribute)));
+    }
+
+    /**
+     * Gets texts and attribute values of multiple elements in a single JavaScript call.
+     *
+     * @param attributes attribute name by element locator, empty attribute name for text of the element
+     * @return text or attribute value of each element, in order of locators
+     */
+    @Step("Get values of elements '{attributes}'")
+    public Map<By, String> getValues(Map<By, String> attributes) {
+        List<By> locators = List.copyOf(attributes.keySet());
+        Object result = executeBatch(READ_ELEMENTS_SCRIPT, locators, locators.stream().map(attributes::get).toList());
+        List<?> results = result instanceof List<?> list && list.size() == locators.size() ? list : null;
+        Map<By, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < locators.size(); i++) {
+            By locator = locators.get(i);
+            String attribute = attributes.get(locator);
+            if (results != null && results.get(i) instanceof List<?> value) {
+                values.put(locator, value.get(0) == null ? null : value.get(0).toString());
+            } else {
+                values.put(locator, attribute.isEmpty() ? getText(locator) : getValue(locator, attribute));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Clicks multiple elements in order in a single JavaScript call. Elements are clicked with JavaScript click,
+     * without the actionability checks of WebDriver click (element not covered by other elements, scrolled into view),
+     * so it is used only where the page is known to accept it, and {@link #click(By)} is used for user like clicks.
+     *
+     * @param elements element locators
+     */
+    @Step("Click on elements '{elements}'")
+    public void clickAll(List<By> elements) {
+        Object result = executeBatch(CLICK_ELEMENTS_SCRIPT, elements, List.of());
+        int clicked = result instanceof Number count ? count.intValue() : 0;
+        for (By element : elements.subList(clicked, elements.size())) {
+            click(element);
+        }
+    }
+
+    @Step("Wait for text '{text}' in element '{element}'")
+    public void waitForText(By element, String text) {
+        waitFor(element, ExpectedConditions.textToBePresentInElementLocated(element, text));
+    }
+
+    /**
+     * Checks element is displayed within the timeout, without failing. Used for negative checks, with a short timeout.
+     *
+     * @param element element locator
+     * @param timeout wait timeout
+     * @return true when element is displayed
+     */
+    public boolean isDisplayed(By element, Duration timeout) {
+        try {
+            waitFor(element, ExpectedConditions.visibilityOfElementLocated(element), timeout);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Waits until the condition of the element is met, within "explicit.wait" seconds.
+     *
+     * @param locator   element locator, used for wait statistics
+     * @param condition element condition
+     * @return value of the condition
+     * @throws TimeoutException when condition is not met within timeout
+     */
+    protected <T> T waitFor(By locator, ExpectedCondition<T> condition) {
+        return waitFor(locator, condition, getWaitConfig().timeout());
+    }
+
+    protected <T> T waitFor(By locator, ExpectedCondition<T> condition, Duration timeout) {
+        WaitConfig config = getWaitConfig();
+        long start = System.nanoTime();
+        boolean timedOut = false;
+        try {
+            return new WebDriverWait(getDriver(), timeout, config.minPoll(), Clock.systemDefaultZone(),
+                    new BackoffSleeper(config.minPoll(), config.maxPoll())).until(condition);
+        } catch (TimeoutException e) {
+            timedOut = true;
+            throw e;
+        } finally {
+            long millis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+            WaitStats.record(locator, millis, timedOut);
+            if (millis > config.slowMillis()) {
+                log.warn("Slow wait %s ms for element %s".formatted(millis, locator));
+            }
+        }
+    }
+
+    // performs the action on cached element, a stale element is removed from cache and looked up again
+    private <T> T onElement(By locator, Predicate<WebElement> condition, Function<By, WebElement> lookup,
+                            Function<WebElement, T> action) {
+        WebElement element = ElementCache.get(locator, condition, lookup);
+        try {
+            return action.apply(element);
+        } catch (StaleElementReferenceException e) {
+            if (!ElementCache.isEnabled()) {
+                throw e;
+            }
+            ElementCache.evict(locator);
+            return action.apply(ElementCache.get(locator, condition, lookup));
+        }
+    }
+
+    // null when the script is not run, locator not supported or driver error, elements are handled with element actions
+    private Object executeBatch(String script, List<By> locators, List<String> attributes) {
+        try {
+            List<List<Object>> scriptLocators = locators.stream().map(WebUtil::toScriptLocator).toList();
+            return getDriver().executeScript(script, scriptLocators, attributes);
+        } catch (WebDriverException | IllegalArgumentException e) {
+            log.warn("Batch call failed for %s elements, using element calls. Error -> %s".formatted(locators.size(), e.getMessage()));
+            return null;
+        }
+    }
+
+    // same attribute for all the locators, in order of locators
+    private static Collector<By, ?, Map<By, String>> toAttributes(String attribute) {
+        return Collectors.toMap(locator -> locator, locator -> attribute, (first, second) -> first, LinkedHashMap::new);
+    }
+
+    private static List<Object> toScriptLocator(By locator) {
+        if (!(locator instanceof By.Remotable remotable)) {
+            throw new IllegalArgumentException("Locator not supported in batch: %s".formatted(locator));
+        }
+        By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+        return List.of(parameters.using(), parameters.value());
+    }
+
+    private static WebElement cache(By locator, WebElement element) {
+        ElementCache.put(locator, element);
+        return element;
+    }
+
+    private static WaitConfig getWaitConfig() {
+        if (waitConfig == null) {
+            waitConfig = new WaitConfig(
+                    Duration.ofSeconds(Long.parseLong(CommonUtil.getProperty("explicit.wait"))),
+                    Duration.ofMillis(Long.parseLong(CommonUtil.getProperty("wait.poll.min"))),
+                    Duration.ofMillis(Long.parseLong(CommonUtil.getProperty("wait.poll.max"))),
+                    Long.parseLong(CommonUtil.getProperty("wait.slow")));
+        }
+        return waitConfig;
+    }
+
+    // polling interval doubles after each poll, from min to max
+    private static final class BackoffSleeper implements Sleeper {
+
+        private final Duration maxPoll;
+        private Duration nextPoll;
+
+        private BackoffSleeper(Duration minPoll, Duration maxPoll) {
+            this.nextPoll = minPoll;
+            this.maxPoll = maxPoll;
+        }
+
+        @Override
+        public void sleep(Duration duration) throws InterruptedException {
+            Thread.sleep(nextPoll.toMillis());
+            nextPoll = nextPoll.multipliedBy(2).compareTo(maxPoll) > 0 ? maxPoll : nextPoll.multipliedBy(2);
+        }
+    }
 }
@@ -0,0 +1,202 @@
+package com.web.automation.utils.dataprovider;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.web.automation.utils.CommonUtil;
+import com.web.automation.utils.Constants;
+import com.web.automation.utils.dataprovider.model.TestData;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.ITestNGMethod;
+import org.testng.annotations.DataProvider;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Data Provider for large JSON data files. Data sets are read from the file one at a time while the tests are
+ * executed, instead of loading all the data sets before the first test.
+ * <p>
+ * Data sets can be split across JVMs using property "shard" as index/count, ex: -Dshard=3/8 runs every 8th data set
+ * starting from the 3rd.
+ * <p>
+ * The data provider is not parallel - TestNG reads all the rows of a parallel data provider before the first test,
+ * only the rows of a sequential data provider are read as the tests are executed. Files of data providers which are
+ * not read till the end, ex: when the run is stopped, are closed with {@link #closeAll()} at the end of the suite.
+ */
+@Slf4j
+public class StreamingDataProvider {
+
+    private static final Set<ShardIterator> OPEN_ITERATORS = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Data Provider streams data from JSON based on Test executed. Test will be executed for no of data sets available
+     * in the shard.
+     *
+     * @param testContext (ITestNGMethod) testng ITestNGMethod has various methods to get current test method executed
+     * @return lazy data iterator
+     */
+    @DataProvider(name = Constants.STREAMING_DATA_PROVIDER)
+    public Iterator<Object[]> streamingDataProvider(ITestNGMethod testContext) throws IOException {
+        String testName = testContext.getMethodName();
+        String jsonFileName = testContext.getRealClass().getSimpleName();
+        File jsonFile = new File(String.format(Constants.JSON_DATA_FILE, jsonFileName));
+        return open(jsonFile, testName, CommonUtil.getProperty("shard"));
+    }
+
+    /**
+     * Closes the data files of the data providers which are not read till the end.
+     */
+    public static void closeAll() {
+        OPEN_ITERATORS.forEach(ShardIterator::close);
+    }
+
+    /**
+     * Opens the data sets of the shard from the JSON array of the key.
+     *
+     * @param jsonFile JSON file
+     * @param key      to get a specific JSON array from JSON file
+     * @param shard    shard as index/count, all the data sets when null
+     * @return lazy data iterator, closes the file at the end of the data
+     * @throws IOException when file not found or unable to get data
+     */
+    static ShardIterator open(File jsonFile, String key, String shard) throws IOException {
+        int[] shardSpec = parseShard(shard);
+        JsonParser parser = readJsonDataArray(jsonFile, key);
+        try {
+            return new ShardIterator(parser, shardSpec[0], shardSpec[1]);
+        } catch (IOException | RuntimeException e) {
+            if (parser != null) {
+                parser.close();
+            }
+            throw e;
+        }
+    }
+
+    // shard index (0 based) and count
+    private static int[] parseShard(String shard) {
+        if (shard == null || shard.isBlank()) {
+            return new int[]{0, 1};
+        }
+        String[] values = shard.trim().split("/");
+        if (values.length != 2) {
+            throw new IllegalArgumentException("Invalid shard '%s', expected format index/count, ex: 3/8".formatted(shard));
+        }
+        int shardIndex = Integer.parseInt(values[0].trim()) - 1;
+        int shardCount = Integer.parseInt(values[1].trim());
+        if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("Invalid shard '%s', index should be from 1 to count".formatted(shard));
+        }
+        return new int[]{shardIndex, shardCount};
+    }
+
+    /**
+     * Positions parser at the first data set of the JSON array of the key.
+     *
+     * @param jsonFile JSON file
+     * @param key      to get a specific JSON array from JSON file
+     * @return parser at the first data set, null when no data exists for the key
+     * @throws IOException when file not found or unable to get data
+     */
+    private static JsonParser readJsonDataArray(File jsonFile, String key) throws IOException {
+        JsonParser parser = TestDataRegistry.getObjectMapper().getFactory().createParser(jsonFile);
+        try {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    boolean isKey = key.equals(parser.currentName());
+                    JsonToken token = parser.nextToken();
+                    if (isKey && token == JsonToken.START_ARRAY) {
+                        if (parser.nextToken() == JsonToken.END_ARRAY) {
+                            break;
+                        }
+                        return parser;
+                    }
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+        parser.close();
+        log.info(String.format("Data not exists for key '%s' in file %s.", key, jsonFile));
+        return null;
+    }
+
+    /**
+     * Returns the data sets of the shard, integrated with accounts. The iterator owns the parser and closes it - the
+     * mapping iterator of the parser does not close a parser it did not create, also at the end of the array.
+     */
+    static final class ShardIterator implements Iterator<Object[]> {
+
+        private final JsonParser parser;
+        private final Iterator<TestData> rows;
+        private final int shardIndex;
+        private final int shardCount;
+        private long index;
+        private TestData next;
+
+        private ShardIterator(JsonParser parser, int shardIndex, int shardCount) throws IOException {
+            this.parser = parser;
+            this.rows = parser == null ? Collections.emptyIterator()
+                    : TestDataRegistry.getObjectMapper().readerFor(TestData.class).readValues(parser);
+            this.shardIndex = shardIndex;
+            this.shardCount = shardCount;
+            OPEN_ITERATORS.add(this);
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Object[] next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            TestData data = next;
+            advance();
+            return new Object[]{JsonDataProvider.withAccount(data)};
+        }
+
+        boolean isClosed() {
+            return parser == null || parser.isClosed();
+        }
+
+        // file is closed at the end of the data, or when a data set can not be read
+        private void advance() {
+            next = null;
+            try {
+                while (rows.hasNext()) {
+                    TestData data = rows.next();
+                    if (index++ % shardCount == shardIndex) {
+                        next = data;
+                        return;
+                    }
+                }
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+            close();
+        }
+
+        private void close() {
+            OPEN_ITERATORS.remove(this);
+            if (parser != null) {
+                try {
+                    parser.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.web.automation.utils.dataprovider;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.web.automation.utils.dataprovider.model.TestData;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Suite scoped registry of parsed JSON test data files. Each file is parsed once with Jackson directly into TestData
+ * and cached by file path, and parsed again only when the file is modified.
+ * <p>
+ * Cached TestData are shared by all the data providers, so they need to be copied before updating for a test.
+ */
+@Slf4j
+public final class TestDataRegistry {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<List<TestData>> TEST_DATA_LIST = new TypeReference<>() {};
+    private static final Map<Path, DataFile> DATA_FILES = new ConcurrentHashMap<>();
+
+    private TestDataRegistry() {}
+
+    private record DataFile(long lastModified, long size, Map<String, List<TestData>> data) {}
+
+    /**
+     * Gets test data for the key from the JSON data file.
+     *
+     * @param jsonFile JSON file
+     * @param key      test method name
+     * @return test data, empty when key not exists
+     * @throws IOException when file not found or unable to parse data
+     */
+    public static List<TestData> getTestData(File jsonFile, String key) throws IOException {
+        List<TestData> testData = getDataFile(jsonFile.toPath()).data().get(key);
+        if (testData == null) {
+            log.info(String.format("Data not exists for key '%s' in file %s.", key, jsonFile));
+            return Collections.emptyList();
+        }
+        return testData;
+    }
+
+    public static ObjectMapper getObjectMapper() {
+        return MAPPER;
+    }
+
+    public static void clear() {
+        DATA_FILES.clear();
+    }
+
+    private static DataFile getDataFile(Path path) throws IOException {
+        Path key = path.toAbsolutePath().normalize();
+        long lastModified = Files.getLastModifiedTime(key).toMillis();
+        long size = Files.size(key);
+        DataFile dataFile = DATA_FILES.get(key);
+        if (dataFile == null || dataFile.lastModified() != lastModified || dataFile.size() != size) {
+            dataFile = new DataFile(lastModified, size, parse(key));
+            DATA_FILES.put(key, dataFile);
+        }
+        return dataFile;
+    }
+
+    // single pass over the file, each test method array is bound to TestData without intermediate maps
+    private static Map<String, List<TestData>> parse(Path path) throws IOException {
+        Map<String, List<TestData>> data = new HashMap<>();
+        try (JsonParser parser = MAPPER.getFactory().createParser(path.toFile())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Invalid test data file %s, expected a JSON object".formatted(path));
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String testName = parser.currentName();
+                if (parser.nextToken() == JsonToken.START_ARRAY) {
+                    data.put(testName, Collections.unmodifiableList(MAPPER.readValue(parser, TEST_DATA_LIST)));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        log.info("Loaded test data file %s with %s tests.".formatted(path.getFileName(), data.size()));
+        return data;
+    }
+}
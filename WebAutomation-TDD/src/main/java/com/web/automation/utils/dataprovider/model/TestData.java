@@ -15,4 +15,21 @@ public class TestData {
     private String error;
     private List<String> products;
     private CustomerInfo customerInfo;
+
+    /**
+     * Copies test data for a test run, products and customer info are shared with the copy.
+     *
+     * @return copy of test data
+     */
+    public TestData copy() {
+        TestData copy = new TestData();
+        copy.accountType = accountType;
+        copy.userName = userName;
+        copy.password = password;
+        copy.environment = environment;
+        copy.error = error;
+        copy.products = products;
+        copy.customerInfo = customerInfo;
+        return copy;
+    }
 }
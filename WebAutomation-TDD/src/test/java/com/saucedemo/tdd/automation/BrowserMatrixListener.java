@@ -0,0 +1,69 @@
+package com.saucedemo.tdd.automation;
+
+import com.web.automation.utils.BrowserMatrix;
+import com.web.automation.utils.CommonUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Runs each test on all the browsers of "browser.matrix" in the same run. Each test of the suite is copied for each
+ * browser with the "browser" parameter, and the browser tests run in parallel, each with its own thread pool of
+ * "browser.matrix.threads" threads. All the browser tests report to the same Allure results and Extent report.
+ */
+@Slf4j
+public class BrowserMatrixListener implements IAlterSuiteListener {
+
+    public static final String BROWSER_PARAMETER = "browser";
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (CommonUtil.getProperties() == null) {
+            CommonUtil.loadProperties("src/test/resources/config.properties");
+        }
+        List<String> browsers = BrowserMatrix.getBrowsers();
+        if (browsers.isEmpty()) {
+            return;
+        }
+        for (XmlSuite suite : suites) {
+            List<XmlTest> tests = new ArrayList<>(suite.getTests());
+            suite.getTests().clear();
+            for (XmlTest test : tests) {
+                for (String browser : browsers) {
+                    createBrowserTest(suite, test, browser);
+                }
+            }
+            suite.setParallel(XmlSuite.ParallelMode.TESTS);
+            suite.setThreadCount(suite.getTests().size());
+            log.info("Browser matrix %s, running %s tests of suite %s in parallel".formatted(browsers, suite.getTests().size(), suite.getName()));
+        }
+    }
+
+    // new XmlTest is added to the suite tests
+    private static void createBrowserTest(XmlSuite suite, XmlTest test, String browser) {
+        XmlTest browserTest = new XmlTest(suite);
+        browserTest.setName("%s [%s]".formatted(test.getName(), browser));
+        browserTest.setParameters(new HashMap<>(test.getLocalParameters()));
+        browserTest.addParameter(BROWSER_PARAMETER, browser);
+        browserTest.setIncludedGroups(test.getIncludedGroups());
+        browserTest.setExcludedGroups(test.getExcludedGroups());
+        browserTest.setXmlPackages(test.getXmlPackages());
+        browserTest.setPreserveOrder(test.getPreserveOrder());
+        List<XmlClass> classes = new ArrayList<>();
+        for (XmlClass xmlClass : test.getXmlClasses()) {
+            XmlClass browserClass = new XmlClass(xmlClass.getName(), classes.size(), false);
+            browserClass.setIncludedMethods(xmlClass.getIncludedMethods());
+            browserClass.setExcludedMethods(xmlClass.getExcludedMethods());
+            classes.add(browserClass);
+        }
+        browserTest.setXmlClasses(classes);
+        browserTest.setParallel(XmlSuite.ParallelMode.METHODS);
+        browserTest.setThreadCount(BrowserMatrix.getThreads(browser));
+    }
+}
@@ -2,8 +2,18 @@ package com.saucedemo.tdd.automation.test;
 
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.saucedemo.tdd.automation.BrowserMatrixListener;
 import com.saucedemo.tdd.automation.PageObjects;
+import com.web.automation.utils.AccountPool;
 import com.web.automation.utils.DriverManager;
+import com.web.automation.utils.DriverPool;
+import com.web.automation.utils.ElementCache;
+import com.web.automation.utils.GridSessionScheduler;
+import com.web.automation.utils.LoginStateCache;
+import com.web.automation.utils.ScreenshotPipeline;
+import com.web.automation.utils.WaitStats;
+import com.web.automation.utils.dataprovider.StreamingDataProvider;
+import com.web.automation.utils.dataprovider.model.TestData;
 import org.testng.ITestContext;
 import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
@@ -11,6 +21,9 @@ import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.BeforeSuite;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+
 import static com.web.automation.utils.CSVDataUtil.loadAccounts;
 import static com.web.automation.utils.CommonUtil.getProperty;
 import static com.web.automation.utils.CommonUtil.loadProperties;
@@ -33,22 +46,68 @@ public class BaseSetup extends PageObjects {
         loadProperties("src/test/resources/config.properties");
         String accountsCSV = getProperty("accountsCSV");
         loadAccounts(accountsCSV);
+        new DriverManager().warmUpDriverPool();
     }
 
     @BeforeMethod
-    public void beforeMethod(ITestContext testContext) {
+    public void beforeMethod(ITestContext testContext, Method method, Object[] testArgs) {
         extentReport.createTest(testContext.getCurrentXmlTest().getName());
-        driverManager.initializeDriver();
-        loadUrl();
+        boolean started = false;
+        try {
+            leaseAccounts(testArgs);
+            // browser parameter of the test in cross browser matrix run
+            String browser = testContext.getCurrentXmlTest().getParameter(BrowserMatrixListener.BROWSER_PARAMETER);
+            driverManager.initializeDriver(method.getName(), browser);
+            loadUrl();
+            started = true;
+        } finally {
+            // leased accounts, browser slot and driver are released when the setup fails, ex: page load timeout
+            if (!started) {
+                releaseTestResources();
+            }
+        }
     }
 
-    @AfterMethod
+    @AfterMethod(alwaysRun = true)
     public void afterMethod(ITestResult result) {
-        driverManager.stopDriver();
+        releaseTestResources();
     }
 
     @AfterSuite
     public static void suiteTearDown() {
+        ScreenshotPipeline.shutdown();
+        StreamingDataProvider.closeAll();
         extentReport.flush();
+        DriverPool.shutdown();
+        AccountPool.logStats();
+        WaitStats.report();
+        ElementCache.logStats();
+        GridSessionScheduler.logStats();
+        LoginStateCache.logStats();
+    }
+
+    // accounts are released also when the driver fails to stop
+    private void releaseTestResources() {
+        try {
+            driverManager.stopDriver();
+        } finally {
+            AccountPool.releaseAll();
+        }
+    }
+
+    // replaces account from data provider with an account leased for the test, so parallel tests do not share it
+    private void leaseAccounts(Object[] testArgs) {
+        if (!AccountPool.isEnabled()) {
+            return;
+        }
+        for (Object testArg : testArgs) {
+            if (testArg instanceof TestData data && data.getAccountType() != null) {
+                Map<String, String> account = AccountPool.acquire(data.getAccountType());
+                if (!account.isEmpty()) {
+                    data.setUserName(account.get("userName"));
+                    data.setPassword(account.get("password"));
+                }
+            }
+        }
     }
 }
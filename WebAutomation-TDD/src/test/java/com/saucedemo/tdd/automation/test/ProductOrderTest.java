@@ -14,7 +14,7 @@ public class ProductOrderTest extends BaseSetup {
             dataProvider = JSON_DATA_PROVIDER, dataProviderClass = JsonDataProvider.class)
     @Feature(PRODUCT_ORDER)
     public void productOrderTest(TestData data) {
-        loginPage.login(data);
+        loginPage.loginWithCachedState(data);
         inventoryPage.addProductsToCart(data.getProducts());
         cartPage.continueToCheckout();
         checkoutPage.enterCustomerInfo(data.getCustomerInfo());
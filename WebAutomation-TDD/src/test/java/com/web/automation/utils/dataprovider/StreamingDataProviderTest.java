@@ -0,0 +1,55 @@
+package com.web.automation.utils.dataprovider;
+
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+// data file is closed once the data provider is read till the end
+public class StreamingDataProviderTest {
+
+    private static final String DATA = """
+            {"other": [{"userName": "skipped"}], "test": [{"userName": "user1"}, {"userName": "user2"}, {"userName": "user3"}]}
+            """;
+
+    @Test
+    public void closesFileAtEndOfData() throws IOException {
+        StreamingDataProvider.ShardIterator rows = StreamingDataProvider.open(writeData(), "test", null);
+
+        int count = 0;
+        while (rows.hasNext()) {
+            assertFalse(rows.isClosed(), "File closed before the end of data");
+            rows.next();
+            count++;
+        }
+        assertEquals(count, 3, "Data sets");
+        assertTrue(rows.isClosed(), "File closed at the end of data");
+    }
+
+    @Test
+    public void closesFileAtEndOfShard() throws IOException {
+        StreamingDataProvider.ShardIterator rows = StreamingDataProvider.open(writeData(), "test", "2/2");
+
+        assertTrue(rows.hasNext(), "Shard data set");
+        rows.next();
+        assertFalse(rows.hasNext(), "Shard has one data set");
+        assertTrue(rows.isClosed(), "File closed at the end of shard");
+    }
+
+    @Test
+    public void closesFileWhenNoData() throws IOException {
+        assertTrue(StreamingDataProvider.open(writeData(), "missing", null).isClosed(), "File closed without data");
+    }
+
+    private static File writeData() throws IOException {
+        Path jsonFile = Files.createTempFile("streaming-data", ".json");
+        jsonFile.toFile().deleteOnExit();
+        return Files.writeString(jsonFile, DATA).toFile();
+    }
+}